@@ -0,0 +1,134 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmarks the same HTTP requests against both API stacks: Spring MVC with JDBC on Tomcat and
+ * WebFlux with R2DBC on Netty ("reactive" profile). The application is started in the benchmark
+ * JVM on a random port, with the read-through cache and query collapsing off so that every request
+ * of either stack reaches the database. Each JMH thread is one concurrent client (-t overrides
+ * the default of 64); SampleTime reports the latency percentiles, ops/time the throughput.
+ * The database is VESSEL_BENCH_URL, VESSEL_BENCH_USER and VESSEL_BENCH_PASSWORD, by default the
+ * local "database" of application.properties, and GETBYCOLOR reads the color VESSEL_BENCH_COLOR.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ApiStackBenchmark {
+
+    @Param({ "servlet", "reactive" })
+    public String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI api;
+    private HttpRequest getById;
+    private HttpRequest getByColor;
+
+    @Setup
+    public void setUp() throws Exception {
+        String url = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_URL"),
+            "jdbc:postgresql://localhost:5432/database"
+        );
+        String user = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_USER"),
+            "my_user"
+        );
+        String password = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_PASSWORD"),
+            "my_password"
+        );
+        String color = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_COLOR"),
+            "Red"
+        );
+
+        SpringApplicationBuilder application = new SpringApplicationBuilder(
+            Application.class
+        ).properties(
+            "server.port=0",
+            "spring.datasource.url=" + url,
+            "spring.datasource.username=" + user,
+            "spring.datasource.password=" + password,
+            "spring.r2dbc.url=" + url.replaceFirst("^jdbc:", "r2dbc:"),
+            "vessel.cache.enabled=false",
+            "vessel.query.collapse.enabled=false",
+            "logging.level.root=WARN"
+        );
+        if (stack.equals("reactive")) application.profiles("reactive");
+        context = application.run();
+        api = URI.create(
+            "http://localhost:" +
+            context.getEnvironment().getProperty("local.server.port") +
+            "/api"
+        );
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        ObjectMapper mapper = new ObjectMapper();
+        HttpResponse<byte[]> created = client.send(
+            post(mapper.writeValueAsBytes(
+                new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", color))
+            )),
+            HttpResponse.BodyHandlers.ofByteArray()
+        );
+        Vessel vessel = (Vessel) mapper.readValue(created.body(), ResponseDTO.class).getData();
+        getById = post(
+            mapper.writeValueAsBytes(new RequestDTO<>(RequestType.GETBYID, vessel.getId()))
+        );
+        getByColor = post(
+            mapper.writeValueAsBytes(new RequestDTO<>(RequestType.GETBYCOLOR, color, 100, null))
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getById() throws Exception {
+        return client.send(getById, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] getByColorPage() throws Exception {
+        return client.send(getByColor, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    private HttpRequest post(byte[] body) {
+        return HttpRequest.newBuilder(api)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmarks writing one chunk of CREATEs (vessel.batch.chunk-size, 500) against PostgreSQL:
+ * one autocommitted INSERT ... RETURNING * per vessel, as separate CREATE requests do, against the
+ * single-transaction JDBC batch of /api/batch. Scores are vessels per second. The database must be
+ * a scratch one: VESSEL_BENCH_URL, VESSEL_BENCH_USER and VESSEL_BENCH_PASSWORD, by default the
+ * local "database" of application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BatchWriteBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate template;
+    private TransactionTemplate transaction;
+
+    @Setup
+    public void setUp() {
+        String url = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_URL"),
+            "jdbc:postgresql://localhost:5432/database"
+        );
+        String user = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_USER"),
+            "my_user"
+        );
+        String password = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_PASSWORD"),
+            "my_password"
+        );
+
+        Flyway.configure()
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .dataSource(url, user, password)
+            .locations("classpath:db/table/heap")
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        template = new NamedParameterJdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public int singleStatements() {
+        int written = 0;
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            List<Vessel> rows = template.query(
+                RequestType.CREATE.getRequestTypeSql(),
+                params(),
+                VesselRepository.VESSEL_ROW_MAPPER
+            );
+            written += rows.size();
+        }
+        return written;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public int[] batchedChunk() {
+        SqlParameterSource[] batch = new SqlParameterSource[CHUNK_SIZE];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = params();
+        }
+        return transaction.execute(status ->
+            template.batchUpdate(RequestType.CREATE.getBatchSql(), batch)
+        );
+    }
+
+    private static MapSqlParameterSource params() {
+        return new MapSqlParameterSource()
+            .addValue("id", VesselIdGenerator.next())
+            .addValue("type", "Cargo")
+            .addValue("color", "Red");
+    }
+}
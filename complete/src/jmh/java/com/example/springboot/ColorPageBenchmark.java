@@ -0,0 +1,79 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.PageToken;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselColumns;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading one 100-vessel GETBYCOLOR page from a fully cached color, held as a
+ * List of Vessel objects (filtered and sorted per page) or as a VesselColumns store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorPageBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    // Number of cached vessels of the color
+    @Param({ "1000", "100000" })
+    public int rows;
+
+    private List<Vessel> list;
+    private VesselColumns columns;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            // Fresh strings per row, as read from a ResultSet
+            list.add(
+                new Vessel(UUID.randomUUID(), new String("Cargo".toCharArray()), new String("Red".toCharArray()))
+            );
+        }
+        columns = VesselColumns.of(list);
+        ids = list.stream().map(Vessel::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    public List<Vessel> listPage() {
+        UUID after = randomId();
+        return list
+            .stream()
+            .filter(vessel -> PageToken.ID_ORDER.compare(vessel.getId(), after) > 0)
+            .sorted(Comparator.comparing(Vessel::getId, PageToken.ID_ORDER))
+            .limit(PAGE_SIZE)
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Benchmark
+    public List<Vessel> columnsPage() {
+        return columns.page(randomId(), PAGE_SIZE);
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
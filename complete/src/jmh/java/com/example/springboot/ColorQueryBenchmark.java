@@ -0,0 +1,143 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Benchmarks one GETBYCOLOR page (the SQL of RequestType.GETBYCOLOR) against a PostgreSQL
+ * database holding the given number of vessels, with and without an index on "color".
+ * The table is created by the application's migrations and refilled when its size changes,
+ * so the database must be a scratch one: VESSEL_BENCH_URL, VESSEL_BENCH_USER and
+ * VESSEL_BENCH_PASSWORD, by default the local "database" of application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorQueryBenchmark {
+
+    // Number of distinct colors, so a color holds fleetSize / COLORS vessels
+    private static final int COLORS = 1000;
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({ "1000000", "10000000" })
+    public int fleetSize;
+
+    // No index, a btree on color, or the covering index of the migrations
+    @Param({ "none", "color", "color_id_type" })
+    public String index;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate template;
+
+    @Setup
+    public void setUp() {
+        String url = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_URL"),
+            "jdbc:postgresql://localhost:5432/database"
+        );
+        String user = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_USER"),
+            "my_user"
+        );
+        String password = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_PASSWORD"),
+            "my_password"
+        );
+
+        Flyway.configure()
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .dataSource(url, user, password)
+            .locations("classpath:db/table/heap")
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP INDEX IF EXISTS vessel_color_idx");
+        jdbc.execute("DROP INDEX IF EXISTS vessel_color_id_idx");
+        Long count = jdbc.queryForObject("SELECT count(*) FROM vessel", Long.class);
+        if (count == null || count != fleetSize) {
+            jdbc.execute("TRUNCATE vessel");
+            jdbc.update(
+                "INSERT INTO vessel (id, type, color) " +
+                "SELECT gen_random_uuid(), 'Cargo', 'color-' || (g % ?) " +
+                "FROM generate_series(1, ?) g",
+                COLORS,
+                fleetSize
+            );
+        }
+        switch (index) {
+            case "color" -> jdbc.execute(
+                "CREATE INDEX vessel_color_idx ON vessel (color)"
+            );
+            case "color_id_type" -> jdbc.execute(
+                "CREATE INDEX vessel_color_id_idx ON vessel (color, id) INCLUDE (type)"
+            );
+            default -> {}
+        }
+        // Sets the visibility map, without which the covering index still visits the table
+        jdbc.execute("VACUUM ANALYZE vessel");
+
+        template = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public List<Vessel> firstPage() {
+        return page(new UUID(0, 0));
+    }
+
+    @Benchmark
+    public List<Vessel> nextPage() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return page(new UUID(random.nextLong(), random.nextLong()));
+    }
+
+    private List<Vessel> page(UUID after) {
+        Map<String, Object> params = Map.of(
+            "color",
+            "color-" + ThreadLocalRandom.current().nextInt(COLORS),
+            "after",
+            after,
+            "limit",
+            PAGE_SIZE
+        );
+        return template.query(
+            RequestType.GETBYCOLOR.getRequestTypeSql(),
+            params,
+            VesselRepository.VESSEL_ROW_MAPPER
+        );
+    }
+}
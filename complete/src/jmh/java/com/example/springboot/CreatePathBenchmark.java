@@ -0,0 +1,121 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Benchmarks the SQL of one CREATE against a PostgreSQL database holding at least the given
+ * number of vessels: the former path, which looked up a random UUID with GETBYID before a plain
+ * INSERT, against the single INSERT ... ON CONFLICT DO NOTHING RETURNING * with a UUIDv7 id.
+ * Both run in autocommit mode as the controller does. The database must be a scratch one:
+ * VESSEL_BENCH_URL, VESSEL_BENCH_USER and VESSEL_BENCH_PASSWORD, by default the local "database"
+ * of application.properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CreatePathBenchmark {
+
+    // The statement of the former CREATE path, run after the GETBYID probe
+    private static final String PLAIN_INSERT_SQL =
+        "INSERT INTO vessel (id, type, color) VALUES (:id, :type, :color)";
+
+    @Param({ "1000000" })
+    public int fleetSize;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate template;
+
+    @Setup
+    public void setUp() {
+        String url = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_URL"),
+            "jdbc:postgresql://localhost:5432/database"
+        );
+        String user = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_USER"),
+            "my_user"
+        );
+        String password = Objects.requireNonNullElse(
+            System.getenv("VESSEL_BENCH_PASSWORD"),
+            "my_password"
+        );
+
+        Flyway.configure()
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .dataSource(url, user, password)
+            .locations("classpath:db/table/heap")
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .load()
+            .migrate();
+
+        dataSource = new SingleConnectionDataSource(url, user, password, true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long count = jdbc.queryForObject("SELECT count(*) FROM vessel", Long.class);
+        if (count == null || count < fleetSize) {
+            jdbc.update(
+                "INSERT INTO vessel (id, type, color) " +
+                "SELECT gen_random_uuid(), 'Cargo', 'color-' || (g % 1000) " +
+                "FROM generate_series(1, ?) g",
+                fleetSize - (count == null ? 0 : count)
+            );
+            jdbc.execute("VACUUM ANALYZE vessel");
+        }
+
+        template = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int probeThenInsert() {
+        List<Vessel> found = template.query(
+            RequestType.GETBYID.getRequestTypeSql(),
+            Map.of("id", UUID.randomUUID()),
+            VesselRepository.VESSEL_ROW_MAPPER
+        );
+        return found.size() + template.update(PLAIN_INSERT_SQL, params(UUID.randomUUID()));
+    }
+
+    @Benchmark
+    public List<Vessel> insertReturning() {
+        return template.query(
+            RequestType.CREATE.getRequestTypeSql(),
+            params(VesselIdGenerator.next()),
+            VesselRepository.VESSEL_ROW_MAPPER
+        );
+    }
+
+    private static Map<String, Object> params(UUID id) {
+        return Map.of("id", id, "type", "Cargo", "color", "Red");
+    }
+}
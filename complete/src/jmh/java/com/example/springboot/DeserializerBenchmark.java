@@ -0,0 +1,145 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks decoding of legacy JSON payloads with the streaming deserializers against the
+ * former JsonNode tree deserializers, which are reproduced below and applied through mix-ins.
+ * The former response deserializer also printed every response it read; here that output goes
+ * to a discarding stream, so only the extra mapper and serialization are measured.
+ * Run with "-prof gc" for the allocation rate per operation ("gc.alloc.rate.norm").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeserializerBenchmark {
+
+    @Param({ "tree", "streaming" })
+    public String deserializer;
+
+    private ObjectMapper mapper;
+    private byte[] createRequest;
+    private byte[] vesselPage;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper();
+        if (deserializer.equals("tree")) {
+            mapper.addMixIn(RequestDTO.class, TreeRequestMixIn.class);
+            mapper.addMixIn(ResponseDTO.class, TreeResponseMixIn.class);
+        }
+
+        createRequest = new ObjectMapper()
+            .writeValueAsBytes(
+                new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Red"))
+            );
+        ArrayList<Vessel> vessels = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vessels.add(new Vessel(UUID.randomUUID(), "Cargo", "Red"));
+        }
+        vesselPage = new ObjectMapper()
+            .writeValueAsBytes(new ResponseDTO<>("VESSEL'S FOUND", vessels));
+    }
+
+    @Benchmark
+    public RequestDTO<?> decodeCreateRequest() throws Exception {
+        return mapper.readValue(createRequest, RequestDTO.class);
+    }
+
+    @Benchmark
+    public ResponseDTO<?> decodeVesselPage() throws Exception {
+        return mapper.readValue(vesselPage, ResponseDTO.class);
+    }
+
+    @JsonDeserialize(using = TreeRequestDeserializer.class)
+    private abstract static class TreeRequestMixIn {}
+
+    // The RequestDTO deserializer before the streaming one: a JsonNode tree, then treeToValue
+    public static class TreeRequestDeserializer extends JsonDeserializer<RequestDTO<?>> {
+
+        @Override
+        public RequestDTO<?> deserialize(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+            JsonNode node = p.getCodec().readTree(p);
+            RequestType type = RequestType.valueOf(node.get("requestType").asText());
+            JsonNode dataNode = node.get("data");
+            Object data = switch (type) {
+                case CREATE, UPDATE -> p.getCodec().treeToValue(dataNode, Vessel.class);
+                case GETBYID, DELETE -> UUID.fromString(dataNode.get(1).asText());
+                case GETBYCOLOR -> dataNode.asText();
+            };
+            return new RequestDTO<>(type, data);
+        }
+    }
+
+    @JsonDeserialize(using = TreeResponseDeserializer.class)
+    private abstract static class TreeResponseMixIn {}
+
+    // The ResponseDTO deserializer before the streaming one, printing to a discarding stream
+    public static class TreeResponseDeserializer extends JsonDeserializer<ResponseDTO<?>> {
+
+        private static final PrintStream OUT = new PrintStream(OutputStream.nullOutputStream());
+
+        @Override
+        public ResponseDTO<?> deserialize(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+            JsonNode node = p.getCodec().readTree(p);
+            String message = node.get("message").asText();
+            JsonNode dataNode = node.get("data");
+            Object data = null;
+            switch (message) {
+                case "VESSEL FOUND", "ACTION COMPLETED" -> {
+                    data = p.getCodec().treeToValue(dataNode, Vessel.class);
+                }
+                case "VESSEL'S FOUND" -> {
+                    List<Vessel> vesselList = new ArrayList<>();
+                    for (JsonNode vesselNode : dataNode.get(1)) {
+                        vesselList.add(
+                            new Vessel(
+                                UUID.fromString(vesselNode.get("id").asText()),
+                                vesselNode.get("type").asText(),
+                                vesselNode.get("color").asText()
+                            )
+                        );
+                    }
+                    data = vesselList;
+                }
+                default -> data = dataNode.asText();
+            }
+            ResponseDTO<?> responseDTO = new ResponseDTO<>(message, data);
+            ObjectMapper mapper = new ObjectMapper();
+            OUT.println("Serialized request: " + mapper.writeValueAsString(responseDTO));
+            return responseDTO;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Benchmarks RequestController dispatch (request validation, cache lookup, paging and
+ * ResponseDTO construction) against InMemoryVesselRepository, so no database time is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestControllerBenchmark {
+
+    // Whether lookups can be answered by the read-through cache
+    @Param({ "false", "true" })
+    public boolean cache;
+
+    private RequestController controller;
+    private RequestDTO<UUID> getById;
+    private RequestDTO<String> getByColor;
+
+    // ETag of the getByColor page, sent back as a polling client would
+    private String getByColorETag;
+
+    @Setup
+    public void setUp() throws Exception {
+        VesselMetrics metrics = new VesselMetrics(new SimpleMeterRegistry());
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            "",
+            false
+        );
+        controller = new RequestController(
+            repository,
+            new VesselCache(cache, 100_000, Duration.ofHours(1)),
+            new QueryCollapser(true),
+            new WriteBatcher(repository, metrics, false, 100, Duration.ZERO, 1),
+            metrics,
+            new ObjectMapper(),
+            500,
+            100,
+            1000
+        );
+
+        String[] colors = { "Red", "Blue", "Green", "Yellow" };
+        UUID firstId = null;
+        for (int i = 0; i < 1000; i++) {
+            ResponseEntity<ResponseDTO<?>> created = controller.handelPost(
+                new RequestDTO<>(
+                    RequestType.CREATE,
+                    new Vessel("Cargo", colors[i % colors.length])
+                ),
+                null
+            );
+            if (firstId == null) {
+                firstId = ((Vessel) created.getBody().getData()).getId();
+            }
+        }
+        getById = new RequestDTO<>(RequestType.GETBYID, firstId);
+        getByColor = new RequestDTO<>(RequestType.GETBYCOLOR, "Red", 50, null);
+        getByColorETag = controller
+            .handelPost(getByColor, null)
+            .getHeaders()
+            .getETag();
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseDTO<?>> getById() {
+        return controller.handelPost(getById, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseDTO<?>> getByColorPage() {
+        return controller.handelPost(getByColor, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseDTO<?>> getByColorPageNotModified() {
+        return controller.handelPost(getByColor, getByColorETag);
+    }
+
+    @Benchmark
+    public ResponseEntity<ResponseDTO<?>> update() {
+        return controller.handelPut(
+            new RequestDTO<>(
+                RequestType.UPDATE,
+                new Vessel(getById.getData(), "Tanker", "Red")
+            )
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks encoding and decoding of a CREATE RequestDTO in every wire format:
+ * the legacy JSON layout with "@class" type information, the compact JSON layout and CBOR.
+ * The payload size of each format is reported as the "payloadBytes" secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestWireFormatBenchmark {
+
+    @Param({ "legacy", "compact", "cbor" })
+    public String format;
+
+    private ObjectMapper mapper;
+    private RequestDTO<Vessel> request;
+    private byte[] encodedRequest;
+
+    // Size of the last encoded payload, reported next to the timing results
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "compact" -> WireFormat.compact(new ObjectMapper());
+            case "cbor" -> WireFormat.compact(new CBORMapper());
+            default -> new ObjectMapper();
+        };
+
+        request = new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Red"));
+        encodedRequest = mapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] encodeRequest(Payload payload) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(request);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public RequestDTO<?> decodeRequest() throws Exception {
+        return mapper.readValue(encodedRequest, RequestDTO.class);
+    }
+}
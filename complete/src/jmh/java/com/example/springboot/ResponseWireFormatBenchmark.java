@@ -0,0 +1,85 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks encoding and decoding of ResponseDTO in every wire format:
+ * the legacy JSON layout with "@class" type information, the compact JSON layout and CBOR.
+ * The payload size of each format is reported as the "payloadBytes" secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseWireFormatBenchmark {
+
+    @Param({ "legacy", "compact", "cbor" })
+    public String format;
+
+    // Number of vessels in the GETBYCOLOR response
+    @Param({ "1", "10000" })
+    public int vessels;
+
+    private ObjectMapper mapper;
+    private ResponseDTO<List<Vessel>> response;
+    private byte[] encodedResponse;
+
+    // Size of the last encoded payload, reported next to the timing results
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "compact" -> WireFormat.compact(new ObjectMapper());
+            case "cbor" -> WireFormat.compact(new CBORMapper());
+            default -> new ObjectMapper();
+        };
+
+        String[] colors = { "Red", "Blue", "Green", "Yellow" };
+        List<Vessel> list = new ArrayList<>(vessels);
+        for (int i = 0; i < vessels; i++) {
+            list.add(new Vessel("Cargo", colors[i % colors.length]));
+        }
+        response = new ResponseDTO<>("VESSEL'S FOUND", list);
+        encodedResponse = mapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse(Payload payload) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(response);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public ResponseDTO<?> decodeResponse() throws Exception {
+        return mapper.readValue(encodedResponse, ResponseDTO.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.Vessel;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the RowMapper that turns a "vessel" row into a Vessel object,
+ * reading from a ResultSet stand-in that always holds the same row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private ResultSet row;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> columns = Map.of(
+            "id",
+            UUID.randomUUID().toString(),
+            "type",
+            "Cargo",
+            "color",
+            "Red"
+        );
+        row = (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] { ResultSet.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("getString")) {
+                    return columns.get((String) args[0]);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            }
+        );
+    }
+
+    @Benchmark
+    public Vessel mapRow() throws Exception {
+        return VesselRepository.VESSEL_ROW_MAPPER.mapRow(row, 0);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.springboot;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a cold start: the time from launching the application until it answers its first
+ * /api request, and the resident set size (RSS, Linux only) of the process at that point, reported
+ * as the "rssKiB" secondary result; JMH sums it over the iterations, so the RSS of one start is
+ * rssKiB divided by Cnt. The launch command is a parameter, so the same benchmark
+ * measures the executable jar, the extracted jar with its CDS archive, or the native executable:
+ * -p launch="build/native/nativeCompile/spring-boot". The application needs its database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    // The command starting the application, split at spaces; "--server.port" is appended
+    @Param({ "java -jar target/spring-boot-complete-0.0.1-SNAPSHOT.jar" })
+    public String launch;
+
+    @Param({ "18080" })
+    public int port;
+
+    private Process process;
+
+    // Resident set size of the started process, reported next to the startup time
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Memory {
+
+        public long rssKiB;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() throws Exception {
+        if (process == null) return;
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        process = null;
+    }
+
+    @Benchmark
+    public int firstResponse(Memory memory) throws Exception {
+        List<String> command = new ArrayList<>(Arrays.asList(launch.split(" ")));
+        command.add("--server.port=" + port);
+        process = new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .directory(new File("."))
+            .start();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(
+            URI.create("http://localhost:" + port + "/api")
+        )
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(1))
+            .POST(
+                HttpRequest.BodyPublishers.ofString(
+                    "{\"requestType\":\"GETBYCOLOR\",\"data\":\"Red\",\"pageSize\":1}"
+                )
+            )
+            .build();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(
+                    "application exited with " + process.exitValue()
+                );
+            }
+            try {
+                int status = client
+                    .send(request, HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+                memory.rssKiB = rss(process.pid());
+                return status;
+            } catch (IOException e) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    // VmRSS of a process from /proc, or 0 where there is no /proc
+    private static long rss(long pid) throws Exception {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) return 0;
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return 0;
+    }
+}
@@ -2,7 +2,9 @@ package com.example.springboot;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * The main entry point for the Spring Boot application.
@@ -10,6 +12,8 @@ import org.springframework.context.annotation.ComponentScan;
  */
 @SpringBootApplication // Automatically includes component scanning
 @ComponentScan(basePackages = "com.example.springboot") // Ensure that it scans the package for components like Repository and Controller
+@ConfigurationPropertiesScan // Binds and validates the typed "vessel.*" settings records
+@ImportRuntimeHints(VesselRuntimeHints.class) // Reflection hints for the GraalVM native image
 public class Application {
 
     /**
@@ -0,0 +1,24 @@
+package com.example.springboot.CustomData;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a bulk import, carried as the data of a "VESSELS IMPORTED" response.
+ *
+ * @param rows     The number of valid records read from the body.
+ * @param imported The number of vessels inserted; records whose id already exists are skipped.
+ */
+public record ImportSummary(
+    @JsonProperty("rows") long rows,
+    @JsonProperty("imported") long imported
+) {
+    /**
+     * Retrieves the number of records skipped because their id already exists.
+     *
+     * @return The number of skipped records.
+     */
+    @JsonProperty("skipped")
+    public long skipped() {
+        return rows - imported;
+    }
+}
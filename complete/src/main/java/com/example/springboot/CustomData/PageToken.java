@@ -0,0 +1,62 @@
+package com.example.springboot.CustomData;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset-paginated GETBYCOLOR results.
+ * The token encodes the id of the last vessel of a page; the next page starts after that id.
+ */
+public final class PageToken {
+
+    // The id every page token points past when no token was sent (the first page)
+    public static final UUID FIRST_PAGE = new UUID(0L, 0L);
+
+    // Orders ids the way PostgreSQL orders uuid values (unsigned, byte by byte)
+    public static final Comparator<UUID> ID_ORDER = (a, b) -> {
+        int cmp = Long.compareUnsigned(
+            a.getMostSignificantBits(),
+            b.getMostSignificantBits()
+        );
+        return cmp != 0
+            ? cmp
+            : Long.compareUnsigned(
+                a.getLeastSignificantBits(),
+                b.getLeastSignificantBits()
+            );
+    };
+
+    private PageToken() {}
+
+    /**
+     * Creates the token for the page that follows the given id.
+     *
+     * @param lastId The id of the last vessel on the current page.
+     * @return The URL-safe token.
+     */
+    public static String encode(UUID lastId) {
+        ByteBuffer bytes = ByteBuffer.allocate(16)
+            .putLong(lastId.getMostSignificantBits())
+            .putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * Reads the id a token points past.
+     *
+     * @param token The token from a previous response, or null for the first page.
+     * @return The id after which the next page starts.
+     * @throws IllegalArgumentException If the token was not created by {@link #encode(UUID)}.
+     */
+    public static UUID decode(String token) {
+        if (token == null) return FIRST_PAGE;
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("invalid page token");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.springboot.CustomData;
 
 import com.example.springboot.Deserializers.RequestDTODeserializer;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -27,6 +28,16 @@ public class RequestDTO<T> {
     )
     private T data;
 
+    // The maximum number of vessels to return for paginated requests (GETBYCOLOR), or null for the default.
+    @JsonProperty("pageSize")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer pageSize;
+
+    // The continuation token returned with the previous page, or null for the first page.
+    @JsonProperty("pageToken")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String pageToken;
+
     /**
      * Constructor to initialize the request with a type and its associated data.
      *
@@ -38,6 +49,25 @@ public class RequestDTO<T> {
         this.data = data;
     }
 
+    /**
+     * Constructor to initialize a paginated request with a type, its data and the page to fetch.
+     *
+     * @param type      The type of the request (e.g., GETBYCOLOR).
+     * @param data      The data associated with the request.
+     * @param pageSize  The maximum number of vessels to return, or null for the server default.
+     * @param pageToken The continuation token of the previous page, or null for the first page.
+     */
+    public RequestDTO(
+        RequestType type,
+        T data,
+        Integer pageSize,
+        String pageToken
+    ) {
+        this(type, data);
+        this.pageSize = pageSize;
+        this.pageToken = pageToken;
+    }
+
     /**
      * Retrieves the data associated with the request.
      *
@@ -56,6 +86,24 @@ public class RequestDTO<T> {
         return type;
     }
 
+    /**
+     * Retrieves the requested page size.
+     *
+     * @return The page size, or null if the server default should be used.
+     */
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Retrieves the continuation token of the requested page.
+     *
+     * @return The page token, or null for the first page.
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
+
     /**
      * Determines the class type of the data object.
      * This can be used for runtime checks and validation of the data type.
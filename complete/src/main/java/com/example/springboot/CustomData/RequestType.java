@@ -9,29 +9,62 @@ import java.util.UUID;
  */
 public enum RequestType {
     // Represents a request to create a new Vessel entry in the database.
+    // An id collision inserts nothing and returns no row instead of failing the statement.
     CREATE(
         Vessel.class,
-        "INSERT INTO vessel (id, type, color) VALUES (:id, :type, :color)"
+        "INSERT INTO vessel (id, type, color) VALUES (:id, :type, :color) " +
+        "ON CONFLICT (id) DO NOTHING RETURNING *",
+        "INSERT INTO vessel (id, type, color) VALUES (:id, :type, :color) " +
+        "ON CONFLICT (id) DO NOTHING",
+        "INSERT INTO vessel (id, type, color) SELECT * FROM unnest(:ids, :types, :colors) " +
+        "ON CONFLICT (id) DO NOTHING RETURNING *"
     ),
 
     // Represents a request to fetch a Vessel entry by its unique ID.
-    GETBYID(UUID.class, "SELECT * FROM vessel WHERE id = :id"),
+    GETBYID(UUID.class, "SELECT * FROM vessel WHERE id = :id", null, null),
 
     // Represents a request to update an existing Vessel entry.
+    // A missing id updates nothing and returns no row, so no lookup is needed beforehand.
     UPDATE(
         Vessel.class,
-        "UPDATE vessel SET type = :type, color = :color WHERE id = :id"
+        "UPDATE vessel SET type = :type, color = :color WHERE id = :id RETURNING *",
+        "UPDATE vessel SET type = :type, color = :color WHERE id = :id",
+        "UPDATE vessel SET type = w.type, color = w.color " +
+        "FROM unnest(:ids, :types, :colors) AS w (id, type, color) " +
+        "WHERE vessel.id = w.id RETURNING vessel.*"
     ),
 
     // Represents a request to delete a Vessel entry by its unique ID.
-    DELETE(UUID.class, "DELETE FROM vessel WHERE id = :id"),
+    // Returns the deleted row, or no row if the id does not exist.
+    DELETE(
+        UUID.class,
+        "DELETE FROM vessel WHERE id = :id RETURNING *",
+        "DELETE FROM vessel WHERE id = :id",
+        "DELETE FROM vessel WHERE id = ANY (:ids) RETURNING *"
+    ),
 
     // Represents a request to fetch Vessel entries based on their color.
-    GETBYCOLOR(String.class, "SELECT * FROM vessel WHERE color = :color");
+    // Results are paginated by id (keyset): :after is the last id of the previous page.
+    GETBYCOLOR(
+        String.class,
+        "SELECT * FROM vessel WHERE color = :color AND id > :after " +
+        "ORDER BY id LIMIT :limit",
+        null,
+        null
+    );
 
     // The SQL query associated with the request type.
     private final String sql;
 
+    // The SQL statement used when the request is executed as part of a JDBC batch,
+    // or null if the request type cannot be batched.
+    private final String batchSql;
+
+    // The multi-row statement used when concurrent single requests are written together,
+    // or null if the request type is not a write. It binds one array per column and returns
+    // the written rows.
+    private final String groupSql;
+
     // The class type of the object that this request operates on.
     private final Class<?> workClass;
 
@@ -40,9 +73,18 @@ public enum RequestType {
      *
      * @param workClass The class type of the data this request works with.
      * @param sql       The SQL query associated with the request type.
+     * @param batchSql  The SQL statement used for batched execution, or null if not batchable.
+     * @param groupSql  The multi-row statement used for grouped writes, or null if not a write.
      */
-    RequestType(Class<?> workClass, String sql) {
+    RequestType(
+        Class<?> workClass,
+        String sql,
+        String batchSql,
+        String groupSql
+    ) {
         this.sql = sql;
+        this.batchSql = batchSql;
+        this.groupSql = groupSql;
         this.workClass = workClass;
     }
 
@@ -55,6 +97,27 @@ public enum RequestType {
         return sql;
     }
 
+    /**
+     * Retrieves the SQL statement used when the request is part of a JDBC batch.
+     * Batched statements must not return rows, so only their update counts are reported.
+     *
+     * @return The batch SQL statement, or null if the request type cannot be batched.
+     */
+    public String getBatchSql() {
+        return batchSql;
+    }
+
+    /**
+     * Retrieves the multi-row statement that writes many requests of this type at once.
+     * The ids, types and colors are bound as the arrays ":ids", ":types" and ":colors"
+     * (DELETE only binds ":ids"), and every written row is returned.
+     *
+     * @return The multi-row SQL statement, or null if the request type is not a write.
+     */
+    public String getGroupSql() {
+        return groupSql;
+    }
+
     /**
      * Retrieves the class type of the object this request type operates on.
      *
@@ -1,6 +1,7 @@
 package com.example.springboot.CustomData;
 
 import com.example.springboot.Deserializers.ResponseDTODeserializer;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -27,6 +28,11 @@ public class ResponseDTO<T> {
     )
     private T data;
 
+    // The token to request the next page with, or null if this is the last page
+    @JsonProperty("nextPageToken")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextPageToken;
+
     /**
      * Constructor to initialize the response with a status, message, and associated data.
      *
@@ -75,6 +81,24 @@ public class ResponseDTO<T> {
         this.data = data;
     }
 
+    /**
+     * Retrieves the continuation token of the next page.
+     *
+     * @return The next page token, or null if there are no more results.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    /**
+     * Sets the continuation token of the next page.
+     *
+     * @param nextPageToken The token to request the next page with, or null on the last page.
+     */
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
     /**
      * Determines the class type of the data object.
      * This can be used for runtime checks and validation of the data type.
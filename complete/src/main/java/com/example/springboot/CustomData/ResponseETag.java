@@ -0,0 +1,153 @@
+package com.example.springboot.CustomData;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Weak entity tags of lookup responses, for conditional GETBYID and GETBYCOLOR requests.
+ * A tag is the MD5 digest of the lookup (its request type and parameters) followed by the id, type
+ * and color of every row it read, which is everything the ResponseDTO is built from. The digest is
+ * defined so PostgreSQL computes the same one with {@link #sql(RequestType)}, so whether a client
+ * still holds a response is checked against the rows in the database, whoever wrote them, without
+ * reading them into the application.
+ * It is weak because the same response may be written in the JSON or the compact format.
+ */
+public final class ResponseETag {
+
+    // Name of the parameter the SQL of a tag binds the lookup to
+    public static final String QUERY_PARAM = "etagQuery";
+
+    // One row as PostgreSQL writes it for the digest, matching row(StringBuilder, Vessel)
+    private static final String ROW_SQL =
+        "v.id::text || ',' || " +
+        "coalesce(octet_length(v.type) || ':' || v.type, '-') || ',' || " +
+        "coalesce(octet_length(v.color) || ':' || v.color, '-') || ';'";
+
+    private ResponseETag() {}
+
+    /**
+     * Computes the entity tag of a lookup response from the rows the lookup read.
+     *
+     * @param type    The request type of the lookup.
+     * @param params  The query parameters of the lookup.
+     * @param vessels The rows the lookup read, including the one past a page; null if none.
+     * @return The weak entity tag, quoted as the ETag header carries it.
+     */
+    public static String of(RequestType type, Map<String, Object> params, List<Vessel> vessels) {
+        StringBuilder text = new StringBuilder(query(type, params));
+        if (vessels != null) {
+            for (Vessel vessel : vessels) row(text, vessel);
+        }
+        return tag(md5(text.toString()));
+    }
+
+    /**
+     * Builds the statement that computes the digest of a lookup in the database. It runs the
+     * lookup's own SQL and returns a single text column; {@link #QUERY_PARAM} is bound to
+     * {@link #query(RequestType, Map)} next to the lookup's parameters.
+     *
+     * @param type The request type of the lookup.
+     * @return The SQL statement.
+     */
+    public static String sql(RequestType type) {
+        return (
+            "SELECT md5(:" + QUERY_PARAM + " || " +
+            "coalesce(string_agg(" + ROW_SQL + ", '' ORDER BY v.id), '')) " +
+            "FROM (" + type.getRequestTypeSql() + ") v"
+        );
+    }
+
+    /**
+     * Writes the lookup as the digest starts with: the request type and then the parameters in
+     * name order.
+     *
+     * @param type   The request type of the lookup.
+     * @param params The query parameters of the lookup.
+     * @return The text the digest of the lookup starts with.
+     */
+    public static String query(RequestType type, Map<String, Object> params) {
+        StringBuilder text = new StringBuilder(type.name());
+        for (Map.Entry<String, Object> param : new TreeMap<>(params).entrySet()) {
+            text.append('|').append(param.getKey()).append('=');
+            field(text, param.getValue() == null ? null : param.getValue().toString());
+        }
+        return text.append('|').toString();
+    }
+
+    /**
+     * Turns a digest computed by {@link #sql(RequestType)} into the entity tag.
+     *
+     * @param digest The hex MD5 digest.
+     * @return The weak entity tag, quoted as the ETag header carries it.
+     */
+    public static String tag(String digest) {
+        return "W/\"" + digest + "\"";
+    }
+
+    /**
+     * Tells whether an If-None-Match header lists any entity tag, so it can match a response
+     * before it is known whether the lookup finds a vessel.
+     *
+     * @param ifNoneMatch The header value, a list of entity tags or "*"; null if not sent.
+     * @return True if the header holds an entity tag other than "*".
+     */
+    public static boolean hasTags(String ifNoneMatch) {
+        return ifNoneMatch != null && !ifNoneMatch.isBlank() && !ifNoneMatch.trim().equals("*");
+    }
+
+    /**
+     * Checks an If-None-Match header against the entity tag of a response, using the weak
+     * comparison conditional lookups call for.
+     *
+     * @param ifNoneMatch The header value, a list of entity tags or "*"; null if not sent.
+     * @param etag        The entity tag of the response.
+     * @param found       Whether the lookup found a vessel, the only case "*" matches.
+     * @return True if the client already holds the response.
+     */
+    public static boolean matches(String ifNoneMatch, String etag, boolean found) {
+        if (ifNoneMatch == null) return false;
+        String opaque = opaqueTag(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") ? found : opaque.equals(opaqueTag(tag))) return true;
+        }
+        return false;
+    }
+
+    // The quoted part of an entity tag, without the weakness indicator
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    // Writes a row as ROW_SQL does
+    private static void row(StringBuilder text, Vessel vessel) {
+        text.append(vessel.getId()).append(',');
+        field(text, vessel.getType());
+        text.append(',');
+        field(text, vessel.getColor());
+        text.append(';');
+    }
+
+    // Writes the UTF-8 length first, so null, "" and neighbouring fields stay distinct
+    private static void field(StringBuilder text, String value) {
+        if (value == null) {
+            text.append('-');
+            return;
+        }
+        text.append(value.getBytes(StandardCharsets.UTF_8).length).append(':').append(value);
+    }
+
+    private static String md5(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
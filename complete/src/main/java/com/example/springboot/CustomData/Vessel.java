@@ -4,16 +4,11 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import java.util.UUID;
-import javax.persistence.Entity;
-import javax.persistence.Id;
-import javax.persistence.Table;
 
 /**
  * The Vessel class represents a vessel entity in the system with unique identification, type, and color.
  * This class is used to model the data that will be transferred between the client and the server.
  */
-@Entity
-@Table(name = "vessel")
 @JsonTypeInfo(
     use = JsonTypeInfo.Id.CLASS,
     include = JsonTypeInfo.As.PROPERTY,
@@ -21,7 +16,6 @@ import javax.persistence.Table;
 ) // Include type information for proper deserialization
 public class Vessel {
 
-    @Id
     @JsonProperty("id") // Serialize and deserialize the id field as "id"
     private UUID id;
 
@@ -54,7 +48,7 @@ public class Vessel {
         @JsonProperty("type") String type, // Deserialize "type" from JSON to String
         @JsonProperty("color") String color // Deserialize "color" from JSON to String
     ) {
-        this.id = UUID.randomUUID();
+        this.id = VesselIdGenerator.next();
         this.type = type;
         this.color = color;
     }
@@ -0,0 +1,228 @@
+package com.example.springboot.CustomData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact column store of vessels, kept in id order (the order of {@link PageToken#ID_ORDER}).
+ * Ids are held as two long columns and type and color as int codes into a dictionary of the
+ * distinct values, so a stored vessel takes 24 bytes instead of the roughly 150 bytes of a
+ * Vessel with its UUID and two Strings. The dictionary belongs to the store and is dropped with it.
+ * Vessel objects are only created when rows are read. Not thread-safe.
+ */
+public final class VesselColumns {
+
+    // Code of a null type or color
+    private static final int NULL = -1;
+
+    private long[] mostSigBits;
+    private long[] leastSigBits;
+    private int[] types;
+    private int[] colors;
+    private int size;
+
+    // Distinct type and color values, indexed by their code
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /**
+     * Creates an empty store.
+     *
+     * @param capacity The number of vessels the store holds before it grows.
+     */
+    public VesselColumns(int capacity) {
+        capacity = Math.max(capacity, 1);
+        mostSigBits = new long[capacity];
+        leastSigBits = new long[capacity];
+        types = new int[capacity];
+        colors = new int[capacity];
+    }
+
+    /**
+     * Creates a store holding the given vessels.
+     *
+     * @param vessels The vessels, in any order.
+     * @return The store.
+     */
+    public static VesselColumns of(List<Vessel> vessels) {
+        VesselColumns columns = new VesselColumns(vessels.size());
+        // Sorted first, so every vessel is appended instead of shifting the columns
+        List<Vessel> sorted = new ArrayList<>(vessels);
+        sorted.sort(Comparator.comparing(Vessel::getId, PageToken.ID_ORDER));
+        for (Vessel vessel : sorted) {
+            int last = columns.size - 1;
+            if (
+                last >= 0 &&
+                columns.mostSigBits[last] == vessel.getId().getMostSignificantBits() &&
+                columns.leastSigBits[last] == vessel.getId().getLeastSignificantBits()
+            ) {
+                columns.set(last, vessel);
+            } else {
+                columns.grow();
+                columns.set(columns.size++, vessel);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Retrieves the number of stored vessels.
+     *
+     * @return The number of vessels.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reads the vessel at a position.
+     *
+     * @param index The position, in id order.
+     * @return A new Vessel holding the stored values.
+     */
+    public Vessel get(int index) {
+        return new Vessel(
+            new UUID(mostSigBits[index], leastSigBits[index]),
+            value(types[index]),
+            value(colors[index])
+        );
+    }
+
+    /**
+     * Reads the id at a position, without creating a Vessel.
+     *
+     * @param index The position, in id order.
+     * @return The id of the vessel stored there.
+     */
+    public UUID getId(int index) {
+        return new UUID(mostSigBits[index], leastSigBits[index]);
+    }
+
+    /**
+     * Reads a stored vessel by its id.
+     *
+     * @param id The id of the vessel.
+     * @return A new Vessel holding the stored values, or null if the id is not stored.
+     */
+    public Vessel get(UUID id) {
+        int index = search(id);
+        return index >= 0 ? get(index) : null;
+    }
+
+    /**
+     * Stores a vessel, replacing the one with the same id.
+     *
+     * @param vessel The vessel to store.
+     * @return True if the id was not stored before.
+     */
+    public boolean put(Vessel vessel) {
+        int index = search(vessel.getId());
+        boolean added = index < 0;
+        if (added) {
+            index = -index - 1;
+            grow();
+            shift(index, index + 1, size - index);
+            size++;
+        }
+        set(index, vessel);
+        return added;
+    }
+
+    /**
+     * Removes a vessel.
+     *
+     * @param id The id of the vessel.
+     * @return True if the id was stored.
+     */
+    public boolean remove(UUID id) {
+        int index = search(id);
+        if (index < 0) return false;
+        shift(index + 1, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Reads one keyset page: the vessels with an id after the given one, in id order.
+     *
+     * @param after The id the page starts after.
+     * @param limit The maximum number of vessels.
+     * @return New Vessel objects in an ArrayList, the list type the wire format announces.
+     */
+    public ArrayList<Vessel> page(UUID after, int limit) {
+        int from = search(after);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = (int) Math.min((long) from + Math.max(limit, 0), size);
+        ArrayList<Vessel> page = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            page.add(get(i));
+        }
+        return page;
+    }
+
+    /**
+     * Reads all stored vessels.
+     *
+     * @return New Vessel objects in id order.
+     */
+    public ArrayList<Vessel> toList() {
+        return page(PageToken.FIRST_PAGE, size);
+    }
+
+    // Binary search in id order; the position, or -(insertion point) - 1 if the id is not stored
+    private int search(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Long.compareUnsigned(mostSigBits[mid], msb);
+            if (cmp == 0) cmp = Long.compareUnsigned(leastSigBits[mid], lsb);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    private void set(int index, Vessel vessel) {
+        mostSigBits[index] = vessel.getId().getMostSignificantBits();
+        leastSigBits[index] = vessel.getId().getLeastSignificantBits();
+        types[index] = code(vessel.getType());
+        colors[index] = code(vessel.getColor());
+    }
+
+    private void grow() {
+        if (size < mostSigBits.length) return;
+        int capacity = mostSigBits.length + (mostSigBits.length >> 1) + 1;
+        mostSigBits = Arrays.copyOf(mostSigBits, capacity);
+        leastSigBits = Arrays.copyOf(leastSigBits, capacity);
+        types = Arrays.copyOf(types, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(mostSigBits, from, mostSigBits, to, length);
+        System.arraycopy(leastSigBits, from, leastSigBits, to, length);
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(colors, from, colors, to, length);
+    }
+
+    private int code(String value) {
+        if (value == null) return NULL;
+        return codes.computeIfAbsent(value, v -> {
+            values.add(v);
+            return values.size() - 1;
+        });
+    }
+
+    private String value(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.springboot.CustomData;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Body formats of the bulk import and export endpoints, one vessel per record.
+ * CSV records are "id,type,color" as PostgreSQL's COPY ... (FORMAT csv) writes them: an unquoted
+ * empty field is null and a quoted one is an empty string. NDJSON lines are vessels in the compact
+ * wire format, without "@class". Records are read one at a time, so the size of a body is not bounded
+ * by memory, and each one is validated against the vessel table before it is passed on.
+ */
+public enum VesselCopyFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    // Longest type or color the VARCHAR(255) columns of the vessel table hold
+    private static final int MAX_LENGTH = 255;
+
+    // Header line of CSV bodies, skipped if it is the first record
+    private static final List<String> CSV_HEADER = List.of("id", "type", "color");
+
+    private static final ObjectMapper COMPACT_MAPPER = WireFormat.compact(
+        new ObjectMapper()
+    );
+    private static final ObjectReader NDJSON_READER = COMPACT_MAPPER.readerFor(
+        Vessel.class
+    );
+    private static final ObjectWriter NDJSON_WRITER = COMPACT_MAPPER.writerFor(
+        Vessel.class
+    );
+
+    // The media type of the body
+    private final String mediaType;
+
+    VesselCopyFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Retrieves the media type of bodies in this format.
+     *
+     * @return The media type as a string.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Reads the vessels of a body one record at a time.
+     * A record without an id gets a freshly generated one, as a CREATE request does.
+     *
+     * @param reader The body.
+     * @return The vessels in body order. next() throws IllegalArgumentException naming the line of
+     *         an invalid record and UncheckedIOException if the body cannot be read.
+     */
+    public Iterator<Vessel> read(BufferedReader reader) {
+        return new Iterator<>() {
+            private int line;
+            private Vessel next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) next = readRecord();
+                return next != null;
+            }
+
+            @Override
+            public Vessel next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Vessel vessel = next;
+                next = null;
+                return vessel;
+            }
+
+            private Vessel readRecord() {
+                try {
+                    while (true) {
+                        String text = reader.readLine();
+                        if (text == null) return null;
+                        line++;
+                        if (text.isBlank()) continue;
+                        Vessel vessel = parseRecord(text);
+                        if (vessel != null) return vessel;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            // The vessel of the record starting with the given line, or null for the CSV header
+            private Vessel parseRecord(String text) throws IOException {
+                int start = line;
+                try {
+                    if (VesselCopyFormat.this == NDJSON) {
+                        return validate(NDJSON_READER.readValue(text));
+                    }
+                    List<String> fields = new ArrayList<>(3);
+                    // A quoted field may span lines; keep reading until its quote is closed
+                    while (!parseCsv(text, fields)) {
+                        String more = reader.readLine();
+                        if (more == null) {
+                            throw new IllegalArgumentException("unterminated quoted field");
+                        }
+                        line++;
+                        text = text + "\n" + more;
+                        fields.clear();
+                    }
+                    if (start == 1 && fields.equals(CSV_HEADER)) return null;
+                    if (fields.size() != 3) {
+                        throw new IllegalArgumentException(
+                            "expected 3 fields (id,type,color) but found " + fields.size()
+                        );
+                    }
+                    UUID id = fields.get(0) == null ? null : UUID.fromString(fields.get(0));
+                    return validate(new Vessel(id, fields.get(1), fields.get(2)));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException(
+                        "line " + start + ": " + e.getOriginalMessage(),
+                        e
+                    );
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        "line " + start + ": " + e.getMessage(),
+                        e
+                    );
+                }
+            }
+        };
+    }
+
+    /**
+     * Appends a vessel as one record in this format.
+     *
+     * @param vessel The vessel to write.
+     * @param out    The buffer the record and its line break are appended to.
+     */
+    public void write(Vessel vessel, StringBuilder out) {
+        if (this == NDJSON) {
+            try {
+                out.append(NDJSON_WRITER.writeValueAsString(vessel)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            return;
+        }
+        out.append(vessel.getId()).append(',');
+        appendCsv(vessel.getType(), out);
+        out.append(',');
+        appendCsv(vessel.getColor(), out);
+        out.append('\n');
+    }
+
+    /**
+     * Finds the format of a media type.
+     *
+     * @param mediaType The media type, without parameters.
+     * @return The format, or null if no format has this media type.
+     */
+    public static VesselCopyFormat of(String mediaType) {
+        for (VesselCopyFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) return format;
+        }
+        return null;
+    }
+
+    // Checks a record against the columns of the vessel table
+    private static Vessel validate(Vessel vessel) {
+        if (vessel == null) throw new IllegalArgumentException("expected a vessel");
+        if (vessel.getId() == null) vessel.setId(VesselIdGenerator.next());
+        checkLength("type", vessel.getType());
+        checkLength("color", vessel.getColor());
+        return vessel;
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                field + " is longer than " + MAX_LENGTH + " characters"
+            );
+        }
+    }
+
+    // Splits one CSV record into fields; false if a quoted field is still open at the end of the text
+    private static boolean parseCsv(String text, List<String> fields) {
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < text.length() && text.charAt(i) == '"') {
+                // Quoted field: "" is a literal quote, the field ends at the closing quote
+                i++;
+                while (true) {
+                    if (i >= text.length()) return false;
+                    char c = text.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                fields.add(field.toString());
+                if (i < text.length() && text.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected text after a quoted field");
+                }
+            } else {
+                int end = text.indexOf(',', i);
+                if (end < 0) end = text.length();
+                // An unquoted empty field is null, as COPY reads it
+                fields.add(end == i ? null : text.substring(i, end));
+                i = end;
+            }
+            if (i >= text.length()) return true;
+            i++; // the comma
+        }
+    }
+
+    // Quotes a value only where COPY does: an empty string (to tell it from null), the end-of-data
+    // marker \. and values holding a comma, a quote or a line break
+    private static void appendCsv(String value, StringBuilder out) {
+        if (value == null) return;
+        if (!needsQuotes(value)) {
+            out.append(value);
+            return;
+        }
+        out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty() || value.equals("\\.")) return true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
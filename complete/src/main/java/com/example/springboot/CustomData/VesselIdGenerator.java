@@ -0,0 +1,38 @@
+package com.example.springboot.CustomData;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs for new Vessel entries.
+ * The 48 most significant bits hold the Unix epoch in milliseconds and the next 12 bits
+ * hold a per-millisecond counter, so ids created by this process are strictly increasing
+ * and inserts into the "vessel" primary key index stay append-mostly.
+ */
+public final class VesselIdGenerator {
+
+    // Last issued (millis << 12 | counter) value, shared by all threads.
+    private static final AtomicLong lastStamp = new AtomicLong();
+
+    private VesselIdGenerator() {}
+
+    /**
+     * Creates the next UUIDv7 value.
+     *
+     * @return A new, time-ordered UUID.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // Move forward within the same millisecond (or past a clock step back) using the counter bits.
+        long stamp = lastStamp.updateAndGet(last -> Math.max(now, last + 1));
+
+        long millis = stamp >>> 12;
+        long counter = stamp & 0xFFFL;
+        long mostSigBits = (millis << 16) | 0x7000L | counter; // version 7
+        long leastSigBits =
+            (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) |
+            0x8000000000000000L; // IETF variant
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.springboot.CustomData;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Describes the compact wire format of RequestDTO and ResponseDTO.
+ * The compact format leaves out the "@class" type information and the redundant "requestType"
+ * and "dataType" properties; the request type or response message alone decides how the
+ * "data" field is read. The legacy format stays the default for "application/json".
+ * The binary CBOR format shares the compact layout, with vessel ids written as 16 raw bytes.
+ */
+public final class WireFormat {
+
+    // Media type clients send in Content-Type / Accept to use the compact format
+    public static final String COMPACT_JSON_VALUE = "application/vnd.vessel.compact";
+
+    // Media type of the binary format; it always uses the compact layout
+    public static final String CBOR_VALUE = "application/cbor";
+
+    private WireFormat() {}
+
+    /**
+     * Configures a mapper to read and write the compact format.
+     *
+     * @param mapper The mapper to configure, usually a copy of the application mapper.
+     * @return The same mapper, for chaining.
+     */
+    public static ObjectMapper compact(ObjectMapper mapper) {
+        return mapper
+            .addMixIn(Vessel.class, CompactVessel.class)
+            .addMixIn(RequestDTO.class, CompactRequest.class)
+            .addMixIn(ResponseDTO.class, CompactResponse.class);
+    }
+
+    // Drops the class-level "@class" property of Vessel
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+    private abstract static class CompactVessel {}
+
+    // Drops the type id of "data" and the properties duplicated from "type" and "data"
+    private abstract static class CompactRequest {
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+        private Object data;
+
+        @JsonIgnore
+        abstract RequestType getRequestType();
+
+        @JsonIgnore
+        abstract Class<?> getDataType();
+    }
+
+    // Drops the type id of "data" and the "dataType" property
+    private abstract static class CompactResponse {
+
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+        private Object data;
+
+        @JsonIgnore
+        abstract Class<?> getDataType();
+    }
+}
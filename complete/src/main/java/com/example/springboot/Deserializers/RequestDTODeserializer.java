@@ -2,47 +2,109 @@ package com.example.springboot.Deserializers;
 
 import com.example.springboot.CustomData.RequestDTO;
 import com.example.springboot.CustomData.RequestType;
-import com.example.springboot.CustomData.Vessel;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
-import java.util.UUID;
 
+/**
+ * Deserializes a RequestDTO in a single streaming pass over the parser tokens.
+ * The type of the "data" field depends on the request type, so if "data" arrives first
+ * its tokens are buffered and read once the request type is known.
+ */
 public class RequestDTODeserializer extends JsonDeserializer<RequestDTO<?>> {
 
     @Override
     public RequestDTO<?> deserialize(JsonParser p, DeserializationContext ctxt)
         throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-
-        // Deserialize the 'requestType' field
-        RequestType type = RequestType.valueOf(
-            node.get("requestType").asText()
-        );
-
-        // Deserialize the 'data' field based on the type
-        JsonNode dataNode = node.get("data");
+        RequestType type = null;
         Object data = null;
+        TokenBuffer bufferedData = null;
+        Integer pageSize = null;
+        String pageToken = null;
 
-        switch (type) {
-            case CREATE, UPDATE -> {
-                // Deserialize to a Vessel
-                data = p.getCodec().treeToValue(dataNode, Vessel.class);
-            }
-            case GETBYID, DELETE -> {
-                // Use the custom UUIDDeserializer to handle UUID parsing
-                String uuidStr = dataNode.get(1).asText();
-                data = UUID.fromString(uuidStr);
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) token = p.nextToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                // Java clients also send the request type under "type"
+                case "requestType", "type" -> type = readRequestType(p, ctxt);
+                case "data" -> {
+                    if (type != null) data = readData(p, type);
+                    else bufferedData = ctxt.bufferAsCopyOfValue(p);
+                }
+                case "pageSize" -> pageSize = value == JsonToken.VALUE_NULL
+                    ? null
+                    : p.getValueAsInt();
+                case "pageToken" -> pageToken = value == JsonToken.VALUE_NULL
+                    ? null
+                    : p.getValueAsString();
+                default -> p.skipChildren();
             }
-            case GETBYCOLOR -> {
-                // For color, we assume it's just a string
-                data = dataNode.asText();
+        }
+
+        if (type == null) {
+            return ctxt.reportInputMismatch(
+                RequestDTO.class,
+                "missing 'requestType' field"
+            );
+        }
+
+        // The data arrived before the request type, read it from the buffered tokens
+        if (bufferedData != null) {
+            try (JsonParser dataParser = bufferedData.asParserOnFirstToken()) {
+                data = readData(dataParser, type);
             }
         }
 
         // Return the constructed RequestDTO object with the corresponding type and data
-        return new RequestDTO<>(type, data);
+        return new RequestDTO<>(type, data, pageSize, pageToken);
+    }
+
+    /**
+     * Reads the request type from the current string token.
+     *
+     * @param p The parser positioned on the value.
+     * @param ctxt The context used to report invalid input.
+     * @return The request type.
+     */
+    private static RequestType readRequestType(
+        JsonParser p,
+        DeserializationContext ctxt
+    ) throws IOException {
+        String name = p.getValueAsString();
+        try {
+            return RequestType.valueOf(name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ctxt.reportInputMismatch(
+                RequestType.class,
+                "unknown request type '%s'",
+                name
+            );
+        }
+    }
+
+    /**
+     * Reads the "data" field based on the request type.
+     *
+     * @param p The parser positioned on the first token of the value.
+     * @param type The request type that decides the data type.
+     * @return The data of the request.
+     */
+    private static Object readData(JsonParser p, RequestType type)
+        throws IOException {
+        return switch (type) {
+            // Deserialize to a Vessel
+            case CREATE, UPDATE -> VesselTokenReader.readVessel(p);
+            // The UUID is wrapped with its type id or sent as a plain string
+            case GETBYID, DELETE -> VesselTokenReader.readUuid(p);
+            // For color, we assume it's just a string
+            case GETBYCOLOR -> VesselTokenReader.readString(p);
+        };
     }
 }
@@ -1,64 +1,105 @@
 package com.example.springboot.Deserializers;
 
 import com.example.springboot.CustomData.ResponseDTO;
-import com.example.springboot.CustomData.Vessel;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-import org.aspectj.weaver.ast.Var;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Deserializes a ResponseDTO in a single streaming pass over the parser tokens.
+ * The type of the "data" field depends on the response message, so if "data" arrives first
+ * its tokens are buffered and read once the message is known.
+ */
 public class ResponseDTODeserializer extends JsonDeserializer<ResponseDTO<?>> {
 
+    private static final Logger log = LoggerFactory.getLogger(
+        ResponseDTODeserializer.class
+    );
+
+    // Shared mapper used only to render deserialized responses in debug output
+    private static final ObjectMapper DEBUG_MAPPER = new ObjectMapper();
+
     @Override
     public ResponseDTO<?> deserialize(
         JsonParser p,
         DeserializationContext ctxt
     ) throws IOException {
-        JsonNode node = p.getCodec().readTree(p);
-
-        String message = node.get("message").asText();
-
-        JsonNode dataNode = node.get("data");
+        String message = null;
         Object data = null;
+        TokenBuffer bufferedData = null;
+        String nextPageToken = null;
 
-        switch (message) {
-            case "VESSEL FOUND", "ACTION COMPLETED" -> {
-                data = p.getCodec().treeToValue(dataNode, Vessel.class);
-            }
-            case "VESSEL'S FOUND" -> {
-                List<Vessel> vesselList = new ArrayList<>();
-                JsonNode vesselListNode = dataNode.get(1);
-                for (JsonNode vesselNode : vesselListNode) {
-                    Vessel vessel = new Vessel(
-                        UUID.fromString(vesselNode.get("id").asText()),
-                        vesselNode.get("type").asText(),
-                        vesselNode.get("color").asText()
-                    );
-                    vesselList.add(vessel);
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) token = p.nextToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "message" -> message = p.getValueAsString();
+                case "data" -> {
+                    if (message != null) data = readData(p, message);
+                    else bufferedData = ctxt.bufferAsCopyOfValue(p);
                 }
-                data = vesselList;
+                case "nextPageToken" -> nextPageToken = value ==
+                    JsonToken.VALUE_NULL
+                    ? null
+                    : p.getValueAsString();
+                default -> p.skipChildren();
             }
-            case "NO VESSEL FOUND", "FAILD ACTION" -> {
-                data = dataNode.asText();
+        }
+
+        // The data arrived before the message, read it from the buffered tokens
+        if (bufferedData != null) {
+            try (JsonParser dataParser = bufferedData.asParserOnFirstToken()) {
+                data = readData(dataParser, message);
             }
         }
+
         ResponseDTO<?> responseDTO = new ResponseDTO<>(message, data);
-        ObjectMapper mapper = new ObjectMapper();
-        try {
-            String jsonRequest = mapper.writeValueAsString(responseDTO);
-            System.out.println("Serialized request: " + jsonRequest);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
+        responseDTO.setNextPageToken(nextPageToken);
+        if (log.isDebugEnabled()) {
+            log.debug(
+                "Deserialized response: {}",
+                DEBUG_MAPPER.writeValueAsString(responseDTO)
+            );
         }
         return responseDTO;
     }
+
+    /**
+     * Reads the "data" field based on the response message.
+     *
+     * @param p The parser positioned on the first token of the value.
+     * @param message The response message that decides the data type.
+     * @return The data of the response.
+     */
+    private static Object readData(JsonParser p, String message)
+        throws IOException {
+        if (message == null) {
+            p.skipChildren();
+            return null;
+        }
+        return switch (message) {
+            case "VESSEL FOUND", "ACTION COMPLETED" -> {
+                yield VesselTokenReader.readVessel(p);
+            }
+            case "VESSEL'S FOUND" -> VesselTokenReader.readVesselList(p);
+            case "VESSELS IMPORTED" -> VesselTokenReader.readImportSummary(p);
+            default -> {
+                // Error and "not found" responses carry a plain text explanation
+                if (p.currentToken().isScalarValue()) {
+                    yield VesselTokenReader.readString(p);
+                }
+                p.skipChildren();
+                yield null;
+            }
+        };
+    }
 }
@@ -0,0 +1,182 @@
+package com.example.springboot.Deserializers;
+
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.Vessel;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the values carried in the "data" field of requests and responses directly from a
+ * JsonParser, without building a JsonNode tree first.
+ * Values may be written with or without the "@class" type information that the
+ * JsonTypeInfo annotations add.
+ */
+final class VesselTokenReader {
+
+    private VesselTokenReader() {}
+
+    /**
+     * Reads a Vessel object; the parser must be positioned on its START_OBJECT (or VALUE_NULL) token.
+     * Fields other than "id", "type" and "color" (such as "@class") are skipped.
+     *
+     * @param p The parser positioned on the vessel.
+     * @return The vessel, or null if the value is null.
+     */
+    static Vessel readVessel(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expect(p, JsonToken.START_OBJECT);
+
+        UUID id = null;
+        String type = null;
+        String color = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> id = readUuid(p);
+                case "type" -> type = readString(p);
+                case "color" -> color = readString(p);
+                default -> p.skipChildren();
+            }
+        }
+        return new Vessel(id, type, color);
+    }
+
+    /**
+     * Reads a list of Vessel objects written either as a plain array or wrapped with its type id
+     * as ["java.util.ArrayList", [...]].
+     *
+     * @param p The parser positioned on the START_ARRAY (or VALUE_NULL) token of the value.
+     * @return The vessels, or null if the value is null.
+     */
+    static List<Vessel> readVesselList(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expect(p, JsonToken.START_ARRAY);
+
+        boolean wrapped = p.nextToken() == JsonToken.VALUE_STRING;
+        if (wrapped) {
+            p.nextToken(); // skip the type id
+            expect(p, JsonToken.START_ARRAY);
+            p.nextToken();
+        }
+        List<Vessel> vessels = new ArrayList<>();
+        for (; p.currentToken() != JsonToken.END_ARRAY; p.nextToken()) {
+            vessels.add(readVessel(p));
+        }
+        if (wrapped) p.nextToken(); // END_ARRAY of the wrapper
+        return vessels;
+    }
+
+    /**
+     * Reads the ImportSummary of a bulk import; the parser must be positioned on its START_OBJECT
+     * (or VALUE_NULL) token. The derived "skipped" count and "@class" are skipped.
+     *
+     * @param p The parser positioned on the summary.
+     * @return The summary, or null if the value is null.
+     */
+    static ImportSummary readImportSummary(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        expect(p, JsonToken.START_OBJECT);
+
+        long rows = 0;
+        long imported = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "rows" -> rows = p.getLongValue();
+                case "imported" -> imported = p.getLongValue();
+                default -> p.skipChildren();
+            }
+        }
+        return new ImportSummary(rows, imported);
+    }
+
+    /**
+     * Reads a UUID written either as a plain string, as 16 raw bytes (binary formats such as CBOR),
+     * or wrapped with its type id as ["java.util.UUID", "..."].
+     *
+     * @param p The parser positioned on the value.
+     * @return The UUID, or null if the value is null.
+     * @throws MismatchedInputException If the value is an object or any other array.
+     */
+    static UUID readUuid(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) return readPlainUuid(p);
+        readTypeId(p);
+        UUID id = readPlainUuid(p);
+        p.nextToken();
+        expect(p, JsonToken.END_ARRAY);
+        return id;
+    }
+
+    private static UUID readPlainUuid(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            ByteBuffer bytes = ByteBuffer.wrap(p.getBinaryValue());
+            return new UUID(bytes.getLong(), bytes.getLong());
+        }
+        String text = readScalar(p, UUID.class);
+        return text == null ? null : UUID.fromString(text);
+    }
+
+    /**
+     * Reads a string written either as a plain value or wrapped with its type id
+     * as ["java.lang.String", "..."].
+     *
+     * @param p The parser positioned on the value.
+     * @return The string, or null if the value is null.
+     * @throws MismatchedInputException If the value is an object or any other array.
+     */
+    static String readString(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return readScalar(p, String.class);
+        }
+        readTypeId(p);
+        String text = readScalar(p, String.class);
+        p.nextToken();
+        expect(p, JsonToken.END_ARRAY);
+        return text;
+    }
+
+    // Moves from the START_ARRAY of a type id wrapper past the type id onto the value
+    private static void readTypeId(JsonParser p) throws IOException {
+        p.nextToken();
+        expect(p, JsonToken.VALUE_STRING);
+        p.nextToken();
+    }
+
+    // The text of a scalar value, or null for null. An object or array is rejected rather than
+    // left open, where its fields would be read as those of the enclosing object.
+    private static String readScalar(JsonParser p, Class<?> type) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        if (!p.currentToken().isScalarValue()) {
+            throw MismatchedInputException.from(
+                p,
+                type,
+                "expected a " + type.getSimpleName() + " but found " + p.currentToken()
+            );
+        }
+        return p.getValueAsString();
+    }
+
+    /**
+     * Fails unless the parser is positioned on the expected token.
+     *
+     * @param p The parser to check.
+     * @param token The token the value has to start with.
+     */
+    static void expect(JsonParser p, JsonToken token) throws IOException {
+        if (p.currentToken() != token) {
+            throw new JsonParseException(
+                p,
+                "expected " + token + " but found " + p.currentToken()
+            );
+        }
+    }
+}
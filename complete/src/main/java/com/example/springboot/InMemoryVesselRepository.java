@@ -0,0 +1,382 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.PageToken;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseETag;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselCopyFormat;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * VesselRepository that keeps the vessels in memory instead of PostgreSQL, used with the
+ * "in-memory" profile for sites without a database and as a database-free benchmark baseline.
+ * It answers the statements of every RequestType the way the SQL of RequestType does.
+ *
+ * Vessels are held in a ConcurrentHashMap by id. Every color has its own concurrent skip list
+ * ordered like PostgreSQL orders uuid values, so GETBYCOLOR pages are read without locks and
+ * writers only contend on the same id. A color change moves the vessel between two lists,
+ * so a concurrent GETBYCOLOR may briefly see it under both colors or neither.
+ * With "vessel.memory.journal" set, every write is appended to a {@link VesselJournal}
+ * that is replayed on the next start. The record is queued while the write holds its id and
+ * written once the id is released, so concurrent writes share the file without waiting on each
+ * other's ids; a write whose record cannot be written is reported as failed, but stays applied in
+ * memory until the next start.
+ * Lookups return copies, so callers may change the vessels they get without changing the store.
+ */
+@Repository
+@Profile("in-memory")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class InMemoryVesselRepository extends VesselRepository {
+
+    // Maximum number of fresh ids tried when an insert collides with an existing vessel.
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final Map<UUID, Vessel> vessels = new ConcurrentHashMap<>();
+
+    // Secondary index: the vessels of every color in id order
+    private final Map<String, NavigableMap<UUID, Vessel>> colors =
+        new ConcurrentHashMap<>();
+
+    // Times every operation like the SQL of VesselRepository
+    private final VesselMetrics metrics;
+
+    // Records the writes for restart recovery, or null without a journal file
+    private final VesselJournal journal;
+
+    /**
+     * Creates the repository and restores the vessels of the journal file, if one is configured.
+     *
+     * @param metrics The meters the operation timings are recorded to.
+     * @param journal The journal file, or an empty string to keep the vessels in memory only.
+     * @param fsync   Whether every journal record is forced to disk before the write returns.
+     * @throws IOException If the journal cannot be read or rewritten.
+     */
+    public InMemoryVesselRepository(
+        VesselMetrics metrics,
+        @Value("${vessel.memory.journal:}") String journal,
+        @Value("${vessel.memory.fsync:false}") boolean fsync
+    ) throws IOException {
+        super(metrics);
+        this.metrics = metrics;
+        if (journal == null || journal.isBlank()) {
+            this.journal = null;
+            return;
+        }
+        this.journal = new VesselJournal(Path.of(journal), fsync);
+        this.journal.replay(this::store, this::remove);
+        this.journal.open(vessels.values());
+    }
+
+    /**
+     * Closes the journal file.
+     *
+     * @throws IOException If the journal cannot be closed.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal != null) journal.close();
+    }
+
+    /**
+     * Looks up vessels by id (GETBYID) or one keyset page of a color (GETBYCOLOR).
+     *
+     * @param params The "id", or the "color", "after" and "limit" parameters.
+     * @param type   The request type (GETBYID, GETBYCOLOR).
+     * @return A list of Vessel objects matching the query, or null if no results are found.
+     */
+    @Override
+    public List<Vessel> getVesselByQuery(
+        Map<String, Object> params,
+        RequestType type
+    ) {
+        List<Vessel> found = metrics.timeQuery(type, () -> lookup(params, type));
+        return found.isEmpty() ? null : found;
+    }
+
+    @Override
+    public String getResponseETag(Map<String, Object> params, RequestType type) {
+        return ResponseETag.of(type, params, metrics.timeQuery(type, () -> lookup(params, type)));
+    }
+
+    // Copies of the vessels a GETBYID or GETBYCOLOR query matches
+    private List<Vessel> lookup(Map<String, Object> params, RequestType type) {
+        List<Vessel> result = new ArrayList<>();
+        if (type == RequestType.GETBYID) {
+            Vessel vessel = vessels.get((UUID) params.get("id"));
+            if (vessel != null) result.add(copyOf(vessel));
+        } else {
+            long limit = ((Number) params.get("limit")).longValue();
+            Iterator<Vessel> page = colorPage(params);
+            while (result.size() < limit && page.hasNext()) {
+                result.add(copyOf(page.next()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int streamVesselByQuery(
+        Map<String, Object> params,
+        RequestType type,
+        Consumer<Vessel> consumer
+    ) {
+        return metrics.timeQuery(type, () -> {
+            int rows = 0;
+            Iterator<Vessel> page = colorPage(params);
+            while (page.hasNext()) {
+                consumer.accept(copyOf(page.next()));
+                rows++;
+            }
+            return rows;
+        });
+    }
+
+    @Override
+    public Vessel insertSql(Vessel vessel, RequestType type) {
+        for (int attempt = 0; attempt < MAX_INSERT_ATTEMPTS; attempt++) {
+            if (metrics.timeQuery(type, () -> insert(vessel))) return vessel;
+            vessel.setId(VesselIdGenerator.next());
+        }
+        return null;
+    }
+
+    @Override
+    public Vessel updateSql(Vessel vessel, RequestType type) {
+        Vessel written = metrics.timeQuery(type, () ->
+            switch (type) {
+                case UPDATE -> update(vessel);
+                case DELETE -> delete(vessel.getId());
+                default -> throw new IllegalArgumentException(type + " is not an update");
+            }
+        );
+        return written == null ? null : copyOf(written);
+    }
+
+    /**
+     * Applies the same write to many vessels. Each write is atomic on its own; unlike the
+     * JDBC batch, a failing journal leaves the earlier writes of the chunk applied.
+     *
+     * @param vessels The vessels to write.
+     * @param type    The request type (CREATE, UPDATE, DELETE).
+     * @return 1 for every vessel that was written and 0 for every one that was not.
+     */
+    @Override
+    public int[] batchUpdateSql(List<Vessel> vessels, RequestType type) {
+        return metrics.timeQuery(type, () -> {
+            int[] counts = new int[vessels.size()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = write(vessels.get(i), type) ? 1 : 0;
+            }
+            return counts;
+        });
+    }
+
+    /**
+     * Applies every write as insertSql or updateSql would; unlike the transaction of the
+     * grouped statements, a failing journal leaves the earlier writes applied.
+     */
+    @Override
+    public Map<RequestType, Vessel[]> groupWriteSql(
+        Map<RequestType, List<Vessel>> writes
+    ) {
+        Map<RequestType, Vessel[]> results = new EnumMap<>(RequestType.class);
+        writes.forEach((type, vessels) -> {
+            Vessel[] written = new Vessel[vessels.size()];
+            for (int i = 0; i < written.length; i++) {
+                written[i] = type == RequestType.CREATE
+                    ? insertSql(vessels.get(i), type)
+                    : updateSql(vessels.get(i), type);
+            }
+            results.put(type, written);
+        });
+        return results;
+    }
+
+    /**
+     * Imports vessels one at a time as CREATE writes them; unlike COPY, an invalid record
+     * leaves the vessels before it imported.
+     */
+    @Override
+    public ImportSummary importVessels(
+        Iterator<Vessel> vessels,
+        LongConsumer progress
+    ) {
+        long rows = 0;
+        long imported = 0;
+        while (vessels.hasNext()) {
+            if (insert(vessels.next())) imported++;
+            if (++rows % COPY_PROGRESS_ROWS == 0) progress.accept(COPY_PROGRESS_ROWS);
+        }
+        progress.accept(rows % COPY_PROGRESS_ROWS);
+        return new ImportSummary(rows, imported);
+    }
+
+    @Override
+    public long exportVessels(
+        String color,
+        VesselCopyFormat format,
+        OutputStream out,
+        LongConsumer progress
+    ) {
+        Iterator<Vessel> export = color == null
+            ? vessels.values().iterator()
+            : colorPage(Map.of("color", color, "after", PageToken.FIRST_PAGE));
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        StringBuilder record = new StringBuilder();
+        long rows = 0;
+        try {
+            if (format == VesselCopyFormat.CSV) writer.write("id,type,color\n");
+            while (export.hasNext()) {
+                format.write(export.next(), record);
+                writer.append(record);
+                record.setLength(0);
+                if (++rows % COPY_PROGRESS_ROWS == 0) progress.accept(COPY_PROGRESS_ROWS);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        progress.accept(rows % COPY_PROGRESS_ROWS);
+        return rows;
+    }
+
+    /**
+     * Retrieves the number of vessels held.
+     *
+     * @return The number of vessels.
+     */
+    public int size() {
+        return vessels.size();
+    }
+
+    // The vessels of the "color" parameter after the "after" id, in id order
+    private Iterator<Vessel> colorPage(Map<String, Object> params) {
+        NavigableMap<UUID, Vessel> color = colors.get((String) params.get("color"));
+        if (color == null) return Collections.emptyIterator();
+        return color.tailMap((UUID) params.get("after"), false).values().iterator();
+    }
+
+    // Runs a CREATE, UPDATE or DELETE and reports whether a vessel was written
+    private boolean write(Vessel vessel, RequestType type) {
+        return switch (type) {
+            case CREATE -> insert(vessel);
+            case UPDATE -> update(vessel) != null;
+            case DELETE -> delete(vessel.getId()) != null;
+            default -> throw new IllegalArgumentException(type + " is not a write");
+        };
+    }
+
+    // INSERT ... ON CONFLICT (id) DO NOTHING
+    private boolean insert(Vessel vessel) {
+        Vessel copy = copyOf(vessel);
+        boolean[] inserted = { false };
+        vessels.computeIfAbsent(copy.getId(), id -> {
+            if (journal != null) journal.put(copy);
+            index(copy);
+            inserted[0] = true;
+            return copy;
+        });
+        if (inserted[0]) syncJournal();
+        return inserted[0];
+    }
+
+    // UPDATE ... WHERE id = :id RETURNING *
+    private Vessel update(Vessel vessel) {
+        Vessel copy = copyOf(vessel);
+        Vessel updated = vessels.computeIfPresent(copy.getId(), (id, old) -> {
+            if (journal != null) journal.put(copy);
+            index(copy);
+            if (!sameColor(old, copy)) unindex(old);
+            return copy;
+        });
+        if (updated != null) syncJournal();
+        return updated;
+    }
+
+    // DELETE ... WHERE id = :id RETURNING *
+    private Vessel delete(UUID id) {
+        Vessel[] deleted = { null };
+        vessels.computeIfPresent(id, (key, old) -> {
+            if (journal != null) journal.delete(key);
+            unindex(old);
+            deleted[0] = old;
+            return null;
+        });
+        if (deleted[0] != null) syncJournal();
+        return deleted[0];
+    }
+
+    // Applies a replayed put without writing it to the journal again
+    private void store(Vessel vessel) {
+        Vessel old = vessels.put(vessel.getId(), vessel);
+        index(vessel);
+        if (old != null && !sameColor(old, vessel)) unindex(old);
+    }
+
+    // Applies a replayed delete without writing it to the journal again
+    private void remove(UUID id) {
+        Vessel old = vessels.remove(id);
+        if (old != null) unindex(old);
+    }
+
+    // Vessels without a color never match "color = :color" and are left out of the index
+    private void index(Vessel vessel) {
+        if (vessel.getColor() == null) return;
+        colors
+            .computeIfAbsent(vessel.getColor(), color ->
+                new ConcurrentSkipListMap<>(PageToken.ID_ORDER)
+            )
+            .put(vessel.getId(), vessel);
+    }
+
+    private void unindex(Vessel vessel) {
+        if (vessel.getColor() == null) return;
+        NavigableMap<UUID, Vessel> color = colors.get(vessel.getColor());
+        if (color != null) color.remove(vessel.getId(), vessel);
+    }
+
+    // Writes the queued journal records, outside of any id's lock
+    private void syncJournal() {
+        if (journal == null) return;
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("journal write failed", e);
+        }
+    }
+
+    private static boolean sameColor(Vessel a, Vessel b) {
+        return Objects.equals(a.getColor(), b.getColor());
+    }
+
+    private static Vessel copyOf(Vessel vessel) {
+        return new Vessel(vessel.getId(), vessel.getType(), vessel.getColor());
+    }
+}
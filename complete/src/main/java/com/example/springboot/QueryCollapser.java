@@ -0,0 +1,114 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-flight layer for lookups: concurrent identical queries share one in-flight database call
+ * and its result instead of each running their own SQL.
+ * A query is identical when its request type, parameters and {@link VesselCache#epoch() write epoch}
+ * match, so a lookup never joins a call that started before a write made through this instance;
+ * nothing is kept once the call finishes.
+ * The shared result is handed to every caller and must not be modified.
+ */
+@Component
+public class QueryCollapser implements MeterBinder {
+
+    // Identifies a query; params are the immutable maps the controller builds
+    private record Key(RequestType type, Map<String, Object> params, long epoch) {}
+
+    private final boolean enabled;
+
+    // The call currently running for every query
+    private final Map<Key, CompletableFuture<Object>> flights =
+        new ConcurrentHashMap<>();
+
+    // Lookups answered by another caller's database call, per request type
+    private final Map<RequestType, LongAdder> collapsed = new EnumMap<>(
+        RequestType.class
+    );
+
+    /**
+     * Constructor to initialize the collapser from the "vessel.query.collapse.*" properties.
+     *
+     * @param enabled Whether identical queries share their database call at all.
+     */
+    public QueryCollapser(
+        @Value("${vessel.query.collapse.enabled:true}") boolean enabled
+    ) {
+        this.enabled = enabled;
+        for (RequestType type : RequestType.values()) {
+            collapsed.put(type, new LongAdder());
+        }
+    }
+
+    /**
+     * Runs a query, or waits for the identical one already running and returns its result.
+     * A failure of the shared call is rethrown to every caller waiting for it.
+     *
+     * @param type   The request type of the query.
+     * @param params The query parameters.
+     * @param epoch  The write epoch read before the lookup started.
+     * @param query  The database call.
+     * @return The result of the database call.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(
+        RequestType type,
+        Map<String, Object> params,
+        long epoch,
+        Supplier<T> query
+    ) {
+        if (!enabled) return query.get();
+        Key key = new Key(type, params, epoch);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            collapsed.get(type).increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                if (e.getCause() instanceof Error cause) throw cause;
+                throw e;
+            }
+        }
+
+        try {
+            T result = query.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Registers the collapsed lookup counters.
+     *
+     * @param registry The registry the meters are added to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        collapsed.forEach((type, count) ->
+            FunctionCounter.builder("vessel.query.collapsed", count, LongAdder::sum)
+                .description("Lookups that shared the database call of an identical lookup")
+                .tag("type", type.name())
+                .register(registry)
+        );
+    }
+}
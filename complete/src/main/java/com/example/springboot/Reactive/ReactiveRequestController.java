@@ -0,0 +1,347 @@
+package com.example.springboot.Reactive;
+
+import com.example.springboot.CustomData.PageToken;
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Controller class to handle REST-API requests for Vessel DB managment on the reactive (WebFlux) stack.
+// It serves the same contract as RequestController and is active with the "reactive" profile.
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestController {
+
+    // Media type of newline-delimited JSON streams
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final ReactiveVesselRepository vesselRepository;
+
+    // Writes NDJSON lines in the compact wire format, without "@class", as RequestController does
+    private final ObjectMapper compactMapper;
+
+    // Page size used for GETBYCOLOR when the request does not specify one
+    private final int defaultPageSize;
+
+    // Largest GETBYCOLOR page size the server returns, whatever the request asks for
+    private final int maxPageSize;
+
+    // Constructor injection for the reactive vessel repository(handels interaction with the DB)
+    // and the application mapper the compact NDJSON mapper is derived from
+    public ReactiveRequestController(
+        ReactiveVesselRepository vesselRepository,
+        ObjectMapper objectMapper,
+        @Value("${vessel.query.default-page-size:100}") int defaultPageSize,
+        @Value("${vessel.query.max-page-size:1000}") int maxPageSize
+    ) {
+        this.vesselRepository = vesselRepository;
+        this.compactMapper = WireFormat.compact(objectMapper.copy());
+        this.defaultPageSize = Math.min(defaultPageSize, maxPageSize);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Handles POST requests to create a new vessel or to look vessels up.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return ResponseEntity with the created or found vessels or an error message.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<ResponseDTO<?>>> handelPost(
+        @RequestBody RequestDTO<?> req
+    ) {
+        if (
+            checkCorrectRequest(
+                req.getRequestType(),
+                RequestType.CREATE,
+                RequestType.GETBYID,
+                RequestType.GETBYCOLOR
+            )
+        ) {
+            switch (req.getRequestType()) {
+                case CREATE -> {
+                    Vessel vessel = (Vessel) req.getData();
+                    // The server assigns the id; collisions are resolved by the insert itself
+                    vessel.setId(VesselIdGenerator.next());
+                    return vesselRepository
+                        .insertSql(vessel, RequestType.CREATE.getRequestTypeSql())
+                        .map(created ->
+                            response("ACTION COMPLETED", created, HttpStatus.CREATED)
+                        )
+                        .switchIfEmpty(
+                            Mono.fromSupplier(() ->
+                                response(
+                                    "FAILED ACTION",
+                                    "could not allocate a unique vessel id",
+                                    HttpStatus.INTERNAL_SERVER_ERROR
+                                )
+                            )
+                        )
+                        .onErrorResume(e -> Mono.just(failedAction(e)));
+                }
+                case GETBYID -> {
+                    return findById((UUID) req.getData()).map(vessel ->
+                        response("VESSEL FOUND", vessel, HttpStatus.OK)
+                    ).defaultIfEmpty(noVesselFound());
+                }
+                case GETBYCOLOR -> {
+                    Map<String, Object> params = colorPageParams(req);
+                    if (params != null) return queryPage(params);
+                }
+                default -> {} // No action for unused cases, but ready for future additions
+            }
+        }
+        return Mono.just(incorrectRequest());
+    }
+
+    /**
+     * Handles GETBYCOLOR requests that accept NDJSON by streaming one vessel per line.
+     * Rows are requested from the database only as fast as the client reads them.
+     * Lines are in the compact wire format, as the NDJSON lines of RequestController.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return The found vessels, or a single error message with status 400.
+     */
+    @PostMapping(produces = NDJSON_VALUE)
+    public ResponseEntity<Flux<DataBuffer>> handelStreamNdjson(
+        @RequestBody RequestDTO<?> req
+    ) {
+        if (!checkCorrectRequest(req.getRequestType(), RequestType.GETBYCOLOR)) {
+            return ResponseEntity.badRequest()
+                .body(Flux.just(ndjsonLine(incorrectRequest().getBody())));
+        }
+        UUID after;
+        try {
+            after = PageToken.decode(req.getPageToken());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(
+                    Flux.just(
+                        ndjsonLine(
+                            new ResponseDTO<String>("INCORRECT REQUEST", "invalid page token")
+                        )
+                    )
+                );
+        }
+        // A stream returns everything after the page token, its size is not bounded by the page size
+        return ResponseEntity.ok()
+            .body(
+                vesselRepository
+                    .getVesselByQuery(
+                        Map.of(
+                            "color",
+                            ReactiveVesselRepository.varchar((String) req.getData()),
+                            "after",
+                            after,
+                            "limit",
+                            Long.MAX_VALUE
+                        ),
+                        RequestType.GETBYCOLOR.getRequestTypeSql()
+                    )
+                    .map(this::ndjsonLine)
+            );
+    }
+
+    /**
+     * Handles PUT requests to update an existing vessel.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return ResponseEntity with the updated vessel or an error message.
+     */
+    @PutMapping
+    public Mono<ResponseEntity<ResponseDTO<?>>> handelPut(
+        @RequestBody RequestDTO<?> req
+    ) {
+        if (!checkCorrectRequest(req.getRequestType(), RequestType.UPDATE)) {
+            return Mono.just(incorrectRequest());
+        }
+        return updateExisting((Vessel) req.getData(), RequestType.UPDATE);
+    }
+
+    /**
+     * Handles DELETE requests to delete a vessel.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return ResponseEntity with the deleted vessel or an error message.
+     */
+    @DeleteMapping
+    public Mono<ResponseEntity<ResponseDTO<?>>> handelDelete(
+        @RequestBody RequestDTO<?> req
+    ) {
+        if (!checkCorrectRequest(req.getRequestType(), RequestType.DELETE)) {
+            return Mono.just(incorrectRequest());
+        }
+        return updateExisting(
+            new Vessel((UUID) req.getData(), "", ""),
+            RequestType.DELETE
+        );
+    }
+
+    /**
+     * Validates if the request type is one of the types accepted by a handler.
+     *
+     * @param typeOfRequest The type of request being processed.
+     * @param expectedTypes The accepted request types.
+     * @return True if the request type is accepted; false otherwise.
+     */
+    private boolean checkCorrectRequest(
+        RequestType typeOfRequest,
+        RequestType... expectedTypes
+    ) {
+        for (RequestType expectedType : expectedTypes) {
+            if (expectedType == typeOfRequest) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs an UPDATE or DELETE as a single statement returning the written row,
+     * answering "NO VESSEL FOUND" if the id does not exist.
+     *
+     * @param vessel The vessel data to be written.
+     * @param type The request type (UPDATE, DELETE).
+     * @return ResponseEntity with the result of the operation.
+     */
+    private Mono<ResponseEntity<ResponseDTO<?>>> updateExisting(
+        Vessel vessel,
+        RequestType type
+    ) {
+        return vesselRepository
+            .updateSql(vessel, type.getRequestTypeSql())
+            .map(written -> response("ACTION COMPLETED", written, HttpStatus.OK))
+            .defaultIfEmpty(noVesselFound())
+            .onErrorResume(e -> Mono.just(failedAction(e)));
+    }
+
+    // One NDJSON line holding a value in the compact wire format
+    private DataBuffer ndjsonLine(Object value) {
+        try {
+            byte[] json = compactMapper.writeValueAsBytes(value);
+            return DefaultDataBufferFactory.sharedInstance
+                .allocateBuffer(json.length + 1)
+                .write(json)
+                .write((byte) '\n');
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Looks a single vessel up by its id
+    private Mono<Vessel> findById(UUID id) {
+        return vesselRepository
+            .getVesselByQuery(
+                Map.of("id", id),
+                RequestType.GETBYID.getRequestTypeSql()
+            )
+            .next();
+    }
+
+    /**
+     * Reads one keyset page of a GETBYCOLOR request.
+     *
+     * @param params The "color", "after" and "limit" parameters of the page.
+     * @return ResponseEntity with the page and the token of the next one, or "NO VESSEL FOUND".
+     */
+    private Mono<ResponseEntity<ResponseDTO<?>>> queryPage(
+        Map<String, Object> params
+    ) {
+        int limit = (int) params.get("limit");
+        return vesselRepository
+            .getVesselByQuery(params, RequestType.GETBYCOLOR.getRequestTypeSql())
+            // Keep the ArrayList type that the serialized type info announces
+            .collect(ArrayList<Vessel>::new, ArrayList::add)
+            .map(vessels -> {
+                if (vessels.isEmpty()) return noVesselFound();
+                // One row past the page is read to tell whether another page follows
+                String nextPageToken = null;
+                if (vessels.size() == limit) {
+                    vessels.remove(limit - 1);
+                    nextPageToken = PageToken.encode(
+                        vessels.get(vessels.size() - 1).getId()
+                    );
+                }
+                ResponseDTO<List<Vessel>> responseDTO = new ResponseDTO<>(
+                    "VESSEL'S FOUND",
+                    vessels
+                );
+                responseDTO.setNextPageToken(nextPageToken);
+                return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            });
+    }
+
+    /**
+     * Builds the query parameters for one keyset page of a GETBYCOLOR request.
+     * The page size is capped at "vessel.query.max-page-size" and one extra row is requested
+     * to detect whether a next page exists.
+     *
+     * @param req The incoming GETBYCOLOR request.
+     * @return The "color", "after" and "limit" parameters, or null if the page size or token is invalid.
+     */
+    private Map<String, Object> colorPageParams(RequestDTO<?> req) {
+        int pageSize = req.getPageSize() == null
+            ? defaultPageSize
+            : Math.min(req.getPageSize(), maxPageSize);
+        if (pageSize <= 0) return null;
+        try {
+            return Map.of(
+                "color",
+                ReactiveVesselRepository.varchar((String) req.getData()),
+                "after",
+                PageToken.decode(req.getPageToken()),
+                "limit",
+                pageSize + 1
+            );
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Wraps a message and its data into a ResponseEntity with the given status
+    private static <T> ResponseEntity<ResponseDTO<?>> response(
+        String message,
+        T data,
+        HttpStatus status
+    ) {
+        return new ResponseEntity<>(new ResponseDTO<T>(message, data), status);
+    }
+
+    // A write the database rejected, such as a constraint violation
+    private static ResponseEntity<ResponseDTO<?>> failedAction(Throwable e) {
+        return response("FAILED ACTION", e.toString(), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static ResponseEntity<ResponseDTO<?>> noVesselFound() {
+        return response("NO VESSEL FOUND", "NONE", HttpStatus.OK);
+    }
+
+    private static ResponseEntity<ResponseDTO<?>> incorrectRequest() {
+        return response(
+            "INCORRECT REQUEST",
+            "could be problem with either RequestType or the Data that you send",
+            HttpStatus.BAD_REQUEST
+        );
+    }
+}
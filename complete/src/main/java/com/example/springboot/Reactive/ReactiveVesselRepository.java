@@ -0,0 +1,128 @@
+package com.example.springboot.Reactive;
+
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Readable;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of VesselRepository built on R2DBC.
+ * It runs the same RequestType SQL (the named ":param" markers are bound by DatabaseClient),
+ * so both stacks stay in sync.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveVesselRepository {
+
+    // Maximum number of fresh ids tried when an insert collides with an existing vessel.
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor to initialize the repository with a DatabaseClient for database interaction.
+     *
+     * @param databaseClient The DatabaseClient instance for executing SQL statements.
+     */
+    public ReactiveVesselRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Retrieves the Vessel objects matching a query.
+     * Rows are emitted as the driver reads them and follow the subscriber's demand.
+     *
+     * @param params The arguments to be passed into the SQL query.
+     * @param sql    The SQL query string to execute.
+     * @return The matching vessels.
+     */
+    public Flux<Vessel> getVesselByQuery(Map<String, Object> params, String sql) {
+        return databaseClient
+            .sql(sql)
+            .bindValues(params)
+            .map(ReactiveVesselRepository::toVessel)
+            .all();
+    }
+
+    /**
+     * Inserts a new Vessel in a single round trip, retrying with a fresh id on a collision.
+     *
+     * @param vessel The Vessel object to insert; its id is replaced if it collides.
+     * @param sql    The SQL insert query string to execute (INSERT ... ON CONFLICT DO NOTHING RETURNING *).
+     * @return The inserted Vessel object, or an empty Mono if no free id was found.
+     */
+    public Mono<Vessel> insertSql(Vessel vessel, String sql) {
+        return insertSql(vessel, sql, 1);
+    }
+
+    private Mono<Vessel> insertSql(Vessel vessel, String sql, int attempt) {
+        return databaseClient
+            .sql(sql)
+            .bindValues(toParams(vessel))
+            .map(ReactiveVesselRepository::toVessel)
+            .one()
+            .switchIfEmpty(
+                Mono.defer(() -> {
+                    if (attempt >= MAX_INSERT_ATTEMPTS) return Mono.empty();
+                    vessel.setId(VesselIdGenerator.next());
+                    return insertSql(vessel, sql, attempt + 1);
+                })
+            );
+    }
+
+    /**
+     * Updates or deletes a Vessel in a single round trip.
+     *
+     * @param vessel The Vessel object containing the data to be written.
+     * @param sql    The SQL query string to execute (UPDATE/DELETE ... RETURNING *).
+     * @return The row as written, or an empty Mono if the id does not exist.
+     */
+    public Mono<Vessel> updateSql(Vessel vessel, String sql) {
+        return databaseClient
+            .sql(sql)
+            .bindValues(toParams(vessel))
+            .map(ReactiveVesselRepository::toVessel)
+            .one();
+    }
+
+    /**
+     * Wraps a type or color value as a VARCHAR parameter, so a null value is bound as a typed
+     * NULL instead of failing in Map.of or the driver.
+     *
+     * @param value The value to bind, possibly null.
+     * @return The parameter.
+     */
+    static Parameter varchar(String value) {
+        return Parameters.in(R2dbcType.VARCHAR, value);
+    }
+
+    // Maps the fields of a Vessel to the named parameters used by the vessel SQL statements.
+    private static Map<String, Object> toParams(Vessel vessel) {
+        return Map.of(
+            "id",
+            vessel.getId(),
+            "type",
+            varchar(vessel.getType()),
+            "color",
+            varchar(vessel.getColor())
+        );
+    }
+
+    // Maps a row of the "vessel" table to a Vessel object.
+    private static Vessel toVessel(Readable row) {
+        return new Vessel(
+            row.get("id", UUID.class),
+            row.get("type", String.class),
+            row.get("color", String.class)
+        );
+    }
+}
@@ -1,43 +1,154 @@
 package com.example.springboot;
 
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.PageToken;
 import com.example.springboot.CustomData.RequestDTO;
 import com.example.springboot.CustomData.RequestType;
 import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.ResponseETag;
 import com.example.springboot.CustomData.Vessel;
-import java.util.HashMap;
+import com.example.springboot.CustomData.VesselCopyFormat;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 // Controller class to handle REST-API requests for Vessel DB managment
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RequestController {
 
+    // Request types that can be sent to the batch endpoint
+    private static final RequestType[] BATCH_REQUESTS = {
+        RequestType.CREATE,
+        RequestType.UPDATE,
+        RequestType.DELETE,
+    };
+
+    // Media type of newline-delimited JSON streams
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    // Media type of CSV bulk imports and exports
+    private static final String CSV_VALUE = "text/csv";
+
+    private static final Logger log = LoggerFactory.getLogger(
+        RequestController.class
+    );
+
     private final VesselRepository vesselRepository;
 
+    // Read-through cache in front of the repository for GETBYID and GETBYCOLOR
+    private final VesselCache vesselCache;
+
+    // Shares one database call between concurrent identical lookups
+    private final QueryCollapser queryCollapser;
+
+    // Groups the writes of concurrent single requests into one transaction (when enabled)
+    private final WriteBatcher writeBatcher;
+
+    // Stage timings and GETBYCOLOR row counts
+    private final VesselMetrics metrics;
+
+    // Shared Jackson mapper used to write streamed responses
+    private final ObjectMapper objectMapper;
+
+    // Mapper for streamed responses in the compact wire format
+    private final ObjectMapper compactMapper;
+
+    // Maximum number of operations executed in one JDBC batch / transaction
+    private final int batchChunkSize;
+
+    // Page size used for GETBYCOLOR when the request does not specify one
+    private final int defaultPageSize;
+
+    // Largest GETBYCOLOR page size the server returns, whatever the request asks for
+    private final int maxPageSize;
+
     // Constructor injection for the vessel repository(handels interaction with the DB)
-    public RequestController(VesselRepository vesselRepository) {
+    public RequestController(
+        VesselRepository vesselRepository,
+        VesselCache vesselCache,
+        QueryCollapser queryCollapser,
+        WriteBatcher writeBatcher,
+        VesselMetrics metrics,
+        ObjectMapper objectMapper,
+        @Value("${vessel.batch.chunk-size:500}") int batchChunkSize,
+        @Value("${vessel.query.default-page-size:100}") int defaultPageSize,
+        @Value("${vessel.query.max-page-size:1000}") int maxPageSize
+    ) {
         this.vesselRepository = vesselRepository;
+        this.vesselCache = vesselCache;
+        this.queryCollapser = queryCollapser;
+        this.writeBatcher = writeBatcher;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+        this.compactMapper = WireFormat.compact(objectMapper.copy());
+        this.batchChunkSize = batchChunkSize;
+        this.defaultPageSize = Math.min(defaultPageSize, maxPageSize);
+        this.maxPageSize = maxPageSize;
     }
 
     /**
      * Handles POST requests to create a new vessel.
+     * Lookups (GETBYID, GETBYCOLOR) are answered with an ETag, and with a bodyless 304 Not Modified
+     * if the request sends that ETag in If-None-Match, or sends "*" and a vessel is found.
+     * The ETag is a digest of the rows the lookup reads, so any write to them changes it, including
+     * writes by other instances or made directly in the database; unless the lookup is cached, the
+     * database computes the digest first and the rows are only read if it does not match.
+     * This deliberately departs from RFC 9110 section 13.1.2, under which a failed If-None-Match on
+     * a POST is answered with 412 Precondition Failed: the lookups only read, and are sent as POST
+     * solely to carry their parameters in a body, so they are treated as the GET they stand for.
+     * CREATE ignores If-None-Match; the vessel it writes never has a representation yet.
      *
      * @param req The incoming request containing data and request type.
+     * @param ifNoneMatch The entity tags of the lookup responses the client holds, or null.
      * @return ResponseEntity with the created vessel or an error message.
      */
     @PostMapping
     public ResponseEntity<ResponseDTO<?>> handelPost(
-        @RequestBody RequestDTO<?> req
+        @RequestBody RequestDTO<?> req,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+        String ifNoneMatch
     ) {
         // Define accepted request types for this handler
         RequestType[] acceptedRequests = {
@@ -58,31 +169,31 @@ public class RequestController {
                 case CREATE -> {
                     // Ensure the data is properly cast to a Vessel
                     Vessel vessel = (Vessel) req.getData();
-                    UUID id = UUID.randomUUID();
-                    Map<String, Object> params = Map.of("id", id);
-                    ResponseEntity<ResponseDTO<?>> res = queryData(
-                        params,
-                        RequestType.GETBYID,
-                        false
-                    );
-                    while (res.getBody().getMessage() == "VESSEL FOUND") {
-                        id = UUID.randomUUID();
-                        params = Map.of("id", id);
-                        res = queryData(params, RequestType.GETBYID, false);
-                    }
+                    // The server assigns the id; collisions are resolved by the insert itself
+                    vessel.setId(VesselIdGenerator.next());
                     return updateData(vessel, RequestType.CREATE, true);
                 }
                 case GETBYID -> {
                     // Retrieve a vessel by its ID
                     UUID id = (UUID) req.getData();
                     Map<String, Object> params = Map.of("id", id);
-                    return queryData(params, RequestType.GETBYID, false);
+                    return queryData(
+                        params,
+                        RequestType.GETBYID,
+                        false,
+                        ifNoneMatch
+                    );
                 }
                 case GETBYCOLOR -> {
-                    // Retrieve vessels by their color
-                    String color = (String) req.getData();
-                    Map<String, Object> params = Map.of("color", color);
-                    return queryData(params, RequestType.GETBYCOLOR, true);
+                    // Retrieve one page of vessels by their color
+                    Map<String, Object> params = colorPageParams(req);
+                    if (params == null) break;
+                    return queryData(
+                        params,
+                        RequestType.GETBYCOLOR,
+                        true,
+                        ifNoneMatch
+                    );
                 }
                 default -> {} // No action for unused cases, but ready for future additions
             }
@@ -96,6 +207,58 @@ public class RequestController {
         return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles GETBYCOLOR requests that accept NDJSON by streaming one vessel per line.
+     * Rows are written to the response as they are read from the database cursor,
+     * so memory use does not grow with the size of the result.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return ResponseEntity streaming the found vessels or an error message.
+     */
+    @PostMapping(produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> handelStreamNdjson(
+        @RequestBody RequestDTO<?> req
+    ) {
+        return streamByColor(req, MediaType.parseMediaType(NDJSON_VALUE));
+    }
+
+    /**
+     * Handles GETBYCOLOR requests sent with "?stream=true" by streaming a regular JSON ResponseDTO.
+     * The response has the same shape as the non-streamed "VESSEL'S FOUND" response.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return ResponseEntity streaming the found vessels or an error message.
+     */
+    @PostMapping(
+        params = "stream=true",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> handelStreamJson(
+        @RequestBody RequestDTO<?> req
+    ) {
+        return streamByColor(req, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Handles GETBYCOLOR requests sent with "?stream=true" that accept the compact format
+     * by streaming a compact ResponseDTO.
+     *
+     * @param req The incoming request containing data and request type.
+     * @return ResponseEntity streaming the found vessels or an error message.
+     */
+    @PostMapping(
+        params = "stream=true",
+        produces = WireFormat.COMPACT_JSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> handelStreamCompact(
+        @RequestBody RequestDTO<?> req
+    ) {
+        return streamByColor(
+            req,
+            MediaType.parseMediaType(WireFormat.COMPACT_JSON_VALUE)
+        );
+    }
+
     /**
      * Handles PUT requests to update an existing vessel.
      *
@@ -119,19 +282,9 @@ public class RequestController {
         if (response) {
             switch (req.getRequestType()) {
                 case UPDATE -> {
-                    // Update the vessel data using the repository
+                    // Update the vessel data using the repository; a missing id updates no row
                     Vessel vessel = (Vessel) req.getData();
-                    Map<String, Object> params = new HashMap<>();
-                    params.put("id", vessel.getId());
-                    ResponseEntity<ResponseDTO<?>> res = queryData(
-                        params,
-                        RequestType.GETBYID,
-                        false
-                    );
-                    if (
-                        res.getBody().getData().getClass() == Vessel.class
-                    ) return updateData(vessel, RequestType.UPDATE, false);
-                    else return res;
+                    return updateData(vessel, RequestType.UPDATE, false);
                 }
                 default -> {} // No action for unused cases, but ready for future additions
             }
@@ -157,7 +310,6 @@ public class RequestController {
     ) {
         // Define accepted request types for this handler
         RequestType[] acceptedRequests = { RequestType.DELETE };
-        System.out.println(req);
         // Check if the incoming request is valid
         boolean response = checkCorrectRequest(
             req.getRequestType(),
@@ -168,20 +320,10 @@ public class RequestController {
         if (response) {
             switch (req.getRequestType()) {
                 case DELETE -> {
-                    // Delete the vessel by setting its ID
+                    // Delete the vessel by setting its ID; a missing id deletes no row
                     UUID id = (UUID) req.getData();
                     Vessel vessel = new Vessel(id, "", "");
-                    Map<String, Object> params = new HashMap<>();
-                    params.put("id", vessel.getId());
-                    ResponseEntity<ResponseDTO<?>> res = queryData(
-                        params,
-                        RequestType.GETBYID,
-                        false
-                    );
-                    if (
-                        res.getBody().getData().getClass() == Vessel.class
-                    ) return updateData(vessel, RequestType.DELETE, false);
-                    else return res;
+                    return updateData(vessel, RequestType.DELETE, false);
                 }
                 default -> {} // No action for unused cases, but ready for future additions
             }
@@ -195,6 +337,209 @@ public class RequestController {
         return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles POST requests carrying many CREATE, UPDATE and DELETE operations at once.
+     * Operations are grouped by request type and executed as JDBC batches of at most
+     * "vessel.batch.chunk-size" entries, each chunk in its own transaction.
+     *
+     * @param reqs The incoming requests, each containing data and request type.
+     * @return ResponseEntity with one result per request, in the order the requests were sent.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ResponseDTO<?>>> handelBatch(
+        @RequestBody List<RequestDTO<?>> reqs
+    ) {
+        ResponseDTO<?>[] results = new ResponseDTO<?>[reqs.size()];
+
+        // Group the positions of the valid requests by their type, keeping the original order
+        Map<RequestType, List<Integer>> groups = new EnumMap<>(
+            RequestType.class
+        );
+        for (int i = 0; i < reqs.size(); i++) {
+            RequestDTO<?> req = reqs.get(i);
+            if (
+                checkCorrectRequest(
+                    req.getRequestType(),
+                    BATCH_REQUESTS,
+                    req.getDataType()
+                ) &&
+                req.getRequestType().getWorkClassType().isInstance(req.getData())
+            ) {
+                groups
+                    .computeIfAbsent(req.getRequestType(), k -> new ArrayList<>())
+                    .add(i);
+            } else {
+                results[i] = new ResponseDTO<String>(
+                    "INCORRECT REQUEST",
+                    "could be problem with either RequestType or the Data that you send"
+                );
+            }
+        }
+
+        groups.forEach((type, positions) -> {
+            List<Vessel> vessels = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                Object data = reqs.get(position).getData();
+                Vessel vessel = type == RequestType.DELETE
+                    ? new Vessel((UUID) data, "", "")
+                    : (Vessel) data;
+                if (type == RequestType.CREATE) vessel.setId(
+                    VesselIdGenerator.next()
+                );
+                vessels.add(vessel);
+            }
+
+            for (int from = 0; from < vessels.size(); from += batchChunkSize) {
+                int to = Math.min(from + batchChunkSize, vessels.size());
+                List<Vessel> chunk = vessels.subList(from, to);
+                try {
+                    int[] counts = vesselRepository.batchUpdateSql(
+                        chunk,
+                        type
+                    );
+                    for (int i = 0; i < chunk.size(); i++) {
+                        results[positions.get(from + i)] = batchResult(
+                            type,
+                            chunk.get(i),
+                            counts[i]
+                        );
+                    }
+                } catch (DataAccessException e) {
+                    // The whole chunk was rolled back
+                    String message = e instanceof QueryTimeoutException
+                        ? "QUERY TIMEOUT"
+                        : "FAILED ACTION";
+                    for (int i = from; i < to; i++) {
+                        results[positions.get(i)] = new ResponseDTO<String>(
+                            message,
+                            e.toString()
+                        );
+                    }
+                }
+            }
+        });
+
+        return new ResponseEntity<>(Arrays.asList(results), HttpStatus.OK);
+    }
+
+    /**
+     * Handles bulk imports of CSV ("id,type,color" records) or NDJSON (one vessel per line) bodies.
+     * Records are validated and copied into the database while the body is read, so memory use
+     * does not grow with the size of the body. Records without an id get a generated one and ids
+     * that already exist are skipped; an invalid record rolls the whole import back.
+     *
+     * @param contentType The media type of the body, which selects the format.
+     * @param body The request body.
+     * @return ResponseEntity with the numbers of records read and vessels imported, or an error message.
+     */
+    @PostMapping(path = "/import", consumes = { CSV_VALUE, NDJSON_VALUE })
+    public ResponseEntity<ResponseDTO<?>> handelImport(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body
+    ) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        VesselCopyFormat format = VesselCopyFormat.of(
+            mediaType.getType() + "/" + mediaType.getSubtype()
+        );
+        Charset charset = mediaType.getCharset() != null
+            ? mediaType.getCharset()
+            : StandardCharsets.UTF_8;
+        long start = System.nanoTime();
+        try (
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, charset)
+            )
+        ) {
+            ImportSummary summary = vesselRepository.importVessels(
+                format.read(reader),
+                rows -> metrics.recordCopyRows("import", rows)
+            );
+            // The imported vessels may belong to cached colors
+            vesselCache.clear();
+            log
+                .atInfo()
+                .addKeyValue("format", format)
+                .addKeyValue("rows", summary.rows())
+                .addKeyValue("imported", summary.imported())
+                .addKeyValue("millis", (System.nanoTime() - start) / 1_000_000)
+                .log("import");
+            ResponseDTO<ImportSummary> responseDTO = new ResponseDTO<>(
+                "VESSELS IMPORTED",
+                summary
+            );
+            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<String> responseDTO = new ResponseDTO<String>(
+                "INCORRECT REQUEST",
+                e.getMessage()
+            );
+            return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Handles bulk exports as CSV, all vessels or those of one color.
+     * PostgreSQL writes the records and they are streamed to the response as they arrive.
+     *
+     * @param color The color of the vessels to export, or absent to export all vessels.
+     * @return ResponseEntity streaming "id,type,color" records after a header line.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> handelExportCsv(
+        @RequestParam(required = false) String color
+    ) {
+        return export(color, VesselCopyFormat.CSV);
+    }
+
+    /**
+     * Handles bulk exports that accept NDJSON, one vessel per line in the compact wire format.
+     *
+     * @param color The color of the vessels to export, or absent to export all vessels.
+     * @return ResponseEntity streaming the vessels.
+     */
+    @GetMapping(path = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> handelExportNdjson(
+        @RequestParam(required = false) String color
+    ) {
+        return export(color, VesselCopyFormat.NDJSON);
+    }
+
+    /**
+     * Turns a failure to obtain a database connection (pool exhausted past its connection-timeout)
+     * into a fast "SERVER BUSY" response instead of a generic server error.
+     *
+     * @param e The exception raised while getting a connection.
+     * @return ResponseEntity with status 503 and the error message.
+     */
+    @ExceptionHandler(CannotGetJdbcConnectionException.class)
+    public ResponseEntity<ResponseDTO<?>> handelNoConnection(
+        CannotGetJdbcConnectionException e
+    ) {
+        ResponseDTO<String> responseDTO = new ResponseDTO<String>(
+            "SERVER BUSY",
+            e.getMostSpecificCause().getMessage()
+        );
+        return new ResponseEntity<>(responseDTO, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Turns a statement cancelled by its "vessel.jdbc.*" query timeout into a "QUERY TIMEOUT"
+     * response, so a slow query frees its thread instead of holding it until the query finishes.
+     *
+     * @param e The exception raised for the cancelled statement.
+     * @return ResponseEntity with status 503 and the error message.
+     */
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ResponseDTO<?>> handelQueryTimeout(
+        QueryTimeoutException e
+    ) {
+        ResponseDTO<String> responseDTO = new ResponseDTO<String>(
+            "QUERY TIMEOUT",
+            e.getMostSpecificCause().getMessage()
+        );
+        return new ResponseEntity<>(responseDTO, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Validates if the request type and data type are acceptable for processing.
      *
@@ -208,20 +553,27 @@ public class RequestController {
         RequestType[] expectedTypes,
         Class<?> workClass
     ) {
+        long start = System.nanoTime();
+        boolean accepted = false;
         for (RequestType expectedType : expectedTypes) {
             if (
                 expectedType == typeOfRequest &&
                 typeOfRequest.getWorkClassType() ==
                 expectedType.getWorkClassType()
             ) {
-                return true;
+                accepted = true;
+                break;
             }
         }
-        return false;
+        metrics.recordStage("dispatch", typeOfRequest, System.nanoTime() - start);
+        return accepted;
     }
 
     /**
      * Updates the vessel data in the repository.
+     * UPDATE and DELETE run as a single statement returning the written row, so a missing id
+     * is reported as "NO VESSEL FOUND" without a lookup beforehand. With "vessel.write.batch.enabled"
+     * the statement is shared with the writes of concurrent requests (see {@link WriteBatcher}).
      *
      * @param vessel The vessel data to be updated.
      * @param type The request type (CREATE, UPDATE, DELETE).
@@ -234,10 +586,24 @@ public class RequestController {
         boolean create
     ) {
         try {
-            vessel = vesselRepository.updateSql(
-                vessel,
-                type.getRequestTypeSql()
-            );
+            vessel = writeBatcher.write(vessel, type);
+            if (vessel == null && !create) {
+                ResponseDTO<String> responseDTO = new ResponseDTO<>(
+                    "NO VESSEL FOUND",
+                    "NONE"
+                );
+                return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            } else if (vessel == null) {
+                ResponseDTO<String> responseDTO = new ResponseDTO<String>(
+                    "FAILED ACTION",
+                    "could not allocate a unique vessel id"
+                );
+                return new ResponseEntity<>(
+                    responseDTO,
+                    HttpStatus.INTERNAL_SERVER_ERROR
+                );
+            }
+            vesselCache.onWrite(type, vessel);
             ResponseDTO<Vessel> responseDTO = new ResponseDTO<Vessel>(
                 "ACTION COMPLETED",
                 vessel
@@ -258,42 +624,279 @@ public class RequestController {
         }
     }
 
+    /**
+     * Streams the vessels of a GETBYCOLOR request straight to the response output stream.
+     *
+     * NDJSON lines and compact responses leave out the "@class" type information,
+     * "application/json" responses are written exactly as the non-streamed ResponseDTO.
+     *
+     * @param req The incoming request containing data and request type.
+     * @param mediaType The media type to write (NDJSON, JSON or the compact format).
+     * @return ResponseEntity with the streaming body, or a streamed error message.
+     */
+    private ResponseEntity<StreamingResponseBody> streamByColor(
+        RequestDTO<?> req,
+        MediaType mediaType
+    ) {
+        boolean ndjson = mediaType.isCompatibleWith(
+            MediaType.parseMediaType(NDJSON_VALUE)
+        );
+        boolean legacy = mediaType.isCompatibleWith(MediaType.APPLICATION_JSON);
+        ObjectMapper mapper = legacy ? objectMapper : compactMapper;
+
+        if (
+            !checkCorrectRequest(
+                req.getRequestType(),
+                new RequestType[] { RequestType.GETBYCOLOR },
+                req.getDataType()
+            )
+        ) {
+            ResponseDTO<String> responseDTO = new ResponseDTO<String>(
+                "INCORRECT REQUEST",
+                "could be problem with either RequestType or the Data that you send"
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(mediaType)
+                .body(out -> mapper.writeValue(out, responseDTO));
+        }
+
+        // A stream returns everything after the page token, its size is not bounded by the page size
+        UUID after;
+        try {
+            after = PageToken.decode(req.getPageToken());
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<String> responseDTO = new ResponseDTO<String>(
+                "INCORRECT REQUEST",
+                "invalid page token"
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(mediaType)
+                .body(out -> mapper.writeValue(out, responseDTO));
+        }
+        Map<String, Object> params = Map.of(
+            "color",
+            (String) req.getData(),
+            "after",
+            after,
+            "limit",
+            Long.MAX_VALUE
+        );
+        ObjectWriter vesselWriter = mapper.writerFor(Vessel.class);
+
+        StreamingResponseBody body = out -> {
+            if (ndjson) {
+                try (
+                    SequenceWriter lines = vesselWriter
+                        .withRootValueSeparator("\n")
+                        .writeValues(out)
+                ) {
+                    metrics.recordColorRows(
+                        vesselRepository.streamVesselByQuery(
+                            params,
+                            RequestType.GETBYCOLOR,
+                            vessel -> writeStreamed(() -> lines.write(vessel))
+                        )
+                    );
+                }
+                return;
+            }
+            try (JsonGenerator gen = mapper.createGenerator(out)) {
+                // Elements of a ResponseDTO<List<Vessel>> are written without the "@class" of Vessel
+                SerializerProvider provider = mapper.getSerializerProviderInstance();
+                JsonSerializer<Object> elementSerializer = provider.findValueSerializer(
+                    Vessel.class
+                );
+                gen.writeStartObject();
+                if (legacy) {
+                    gen.writeStringField("dataType", ArrayList.class.getName());
+                }
+                gen.writeStringField("message", "VESSEL'S FOUND");
+                gen.writeArrayFieldStart("data");
+                if (legacy) {
+                    // Same list type wrapper as a serialized ResponseDTO<List<Vessel>>
+                    gen.writeString(ArrayList.class.getName());
+                    gen.writeStartArray();
+                }
+                metrics.recordColorRows(
+                    vesselRepository.streamVesselByQuery(
+                        params,
+                        RequestType.GETBYCOLOR,
+                        vessel ->
+                            writeStreamed(() -> {
+                                if (legacy) {
+                                    elementSerializer.serialize(vessel, gen, provider);
+                                } else {
+                                    vesselWriter.writeValue(gen, vessel);
+                                }
+                            })
+                    )
+                );
+                if (legacy) gen.writeEndArray();
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    /**
+     * Streams a bulk export straight from the database to the response output stream.
+     *
+     * @param color The color of the vessels to export, or null to export all vessels.
+     * @param format The format of the records.
+     * @return ResponseEntity with the streaming body.
+     */
+    private ResponseEntity<StreamingResponseBody> export(
+        String color,
+        VesselCopyFormat format
+    ) {
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            long rows = vesselRepository.exportVessels(
+                color,
+                format,
+                out,
+                n -> metrics.recordCopyRows("export", n)
+            );
+            log
+                .atInfo()
+                .addKeyValue("format", format)
+                .addKeyValue("rows", rows)
+                .addKeyValue("millis", (System.nanoTime() - start) / 1_000_000)
+                .log("export");
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getMediaType()))
+            .body(body);
+    }
+
+    // A write to the response stream that may fail with an IOException
+    private interface StreamedWrite {
+        void write() throws IOException;
+    }
+
+    // Runs a response write inside a row callback, which cannot throw IOException itself
+    private static void writeStreamed(StreamedWrite write) {
+        try {
+            write.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the query parameters for one keyset page of a GETBYCOLOR request.
+     * The page size is capped at "vessel.query.max-page-size" and one extra row is requested
+     * to detect whether a next page exists.
+     *
+     * @param req The incoming GETBYCOLOR request.
+     * @return The "color", "after" and "limit" parameters, or null if the page size or token is invalid.
+     */
+    private Map<String, Object> colorPageParams(RequestDTO<?> req) {
+        int pageSize = req.getPageSize() == null
+            ? defaultPageSize
+            : Math.min(req.getPageSize(), maxPageSize);
+        if (pageSize <= 0) return null;
+        try {
+            return Map.of(
+                "color",
+                (String) req.getData(),
+                "after",
+                PageToken.decode(req.getPageToken()),
+                "limit",
+                pageSize + 1
+            );
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds the per-operation result of a batched write from its JDBC update count.
+     *
+     * @param type The request type (CREATE, UPDATE, DELETE).
+     * @param vessel The vessel the operation was executed for.
+     * @param count The update count reported by the JDBC batch.
+     * @return The ResponseDTO describing the outcome of the operation.
+     */
+    private ResponseDTO<?> batchResult(
+        RequestType type,
+        Vessel vessel,
+        int count
+    ) {
+        // Statement.SUCCESS_NO_INFO is negative and still means the row was written
+        if (count != 0) {
+            vesselCache.onWrite(type, vessel);
+            return new ResponseDTO<Vessel>("ACTION COMPLETED", vessel);
+        } else if (type == RequestType.CREATE) {
+            return new ResponseDTO<String>(
+                "FAILED ACTION",
+                "vessel id already exists"
+            );
+        }
+        return new ResponseDTO<String>("NO VESSEL FOUND", "NONE");
+    }
+
     /**
      * Queries the repository for vessels based on the provided parameters.
      *
      * @param params The query parameters to filter vessels.
      * @param type The request type (GETBYID, GETBYCOLOR).
      * @param multipleEntities Flag indicating whether to return a list of vessels.
+     * @param ifNoneMatch The If-None-Match header of the request, or null.
      * @return ResponseEntity with the found vessels or an error message.
      */
     private ResponseEntity<ResponseDTO<?>> queryData(
         Map<String, Object> params,
         RequestType type,
-        boolean multipleEntities
+        boolean multipleEntities,
+        String ifNoneMatch
     ) {
         try {
-            List<Vessel> vessels = vesselRepository.getVesselByQuery(
-                params,
-                type.getRequestTypeSql()
-            );
+            List<Vessel> vessels = cachedVessels(params, type);
+            if (vessels == null) {
+                // The database hashes the rows, so a client holding them is answered without them
+                if (ResponseETag.hasTags(ifNoneMatch)) {
+                    String current = vesselRepository.getResponseETag(params, type);
+                    if (ResponseETag.matches(ifNoneMatch, current, false)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+                    }
+                }
+                vessels = queryVessels(params, type);
+            } else if (vessels.isEmpty()) {
+                vessels = null;
+            }
+            String etag = ResponseETag.of(type, params, vessels);
             if (vessels == null) {
                 ResponseDTO<String> responseDTO = new ResponseDTO<>(
                     "NO VESSEL FOUND",
                     "NONE"
                 );
-                return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+                if (multipleEntities) metrics.recordColorRows(0);
+                return conditional(responseDTO, false, etag, ifNoneMatch);
             } else if (multipleEntities) {
+                // One row past the page is read to tell whether another page follows
+                String nextPageToken = null;
+                int limit = (int) params.get("limit");
+                if (vessels.size() == limit) {
+                    vessels = new ArrayList<>(vessels.subList(0, limit - 1));
+                    nextPageToken = PageToken.encode(
+                        vessels.get(vessels.size() - 1).getId()
+                    );
+                }
                 ResponseDTO<List<Vessel>> responseDTO = new ResponseDTO<>(
                     "VESSEL'S FOUND",
                     vessels
                 );
-                return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+                responseDTO.setNextPageToken(nextPageToken);
+                metrics.recordColorRows(vessels.size());
+                return conditional(responseDTO, true, etag, ifNoneMatch);
             }
             ResponseDTO<Vessel> responseDTO = new ResponseDTO<>(
                 "VESSEL FOUND",
                 vessels.get(0)
             );
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return conditional(responseDTO, true, etag, ifNoneMatch);
         } catch (Error e) {
             ResponseDTO<String> responseDTO = new ResponseDTO<String>(
                 "FAILED QUERY",
@@ -305,4 +908,90 @@ public class RequestController {
             );
         }
     }
+
+    /**
+     * Answers a lookup with its ETag, or with a bodyless 304 Not Modified if the client already
+     * holds the same response; the tag is computed from the loaded vessels, so a match skips
+     * serializing them.
+     *
+     * @param responseDTO The response to the lookup.
+     * @param found Whether the lookup found a vessel.
+     * @param etag The entity tag of the response.
+     * @param ifNoneMatch The If-None-Match header of the request, or null.
+     * @return ResponseEntity with the response and its ETag, or the 304 response.
+     */
+    private ResponseEntity<ResponseDTO<?>> conditional(
+        ResponseDTO<?> responseDTO,
+        boolean found,
+        String etag,
+        String ifNoneMatch
+    ) {
+        if (ResponseETag.matches(ifNoneMatch, etag, found)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(responseDTO);
+    }
+
+    /**
+     * Reads the vessels matching a GETBYID or GETBYCOLOR query from the cache.
+     *
+     * @param params The query parameters to filter vessels.
+     * @param type The request type (GETBYID, GETBYCOLOR).
+     * @return The matching vessels, an empty list if the cache knows that none match, or null if
+     *         the query is not cached.
+     */
+    private List<Vessel> cachedVessels(
+        Map<String, Object> params,
+        RequestType type
+    ) {
+        switch (type) {
+            case GETBYID -> {
+                Vessel cached = vesselCache.get((UUID) params.get("id"));
+                if (cached != null) return List.of(cached);
+            }
+            case GETBYCOLOR -> {
+                // Cached colors are kept in id order, so a page is read without sorting the color
+                return vesselCache.getColorPage(
+                    (String) params.get("color"),
+                    (UUID) params.get("after"),
+                    (int) params.get("limit")
+                );
+            }
+            default -> {}
+        }
+        return null;
+    }
+
+    /**
+     * Loads the vessels matching a GETBYID or GETBYCOLOR query from the repository and fills the
+     * cache with them.
+     *
+     * @param params The query parameters to filter vessels.
+     * @param type The request type (GETBYID, GETBYCOLOR).
+     * @return The matching vessels, or null if no vessel matches.
+     */
+    private List<Vessel> queryVessels(
+        Map<String, Object> params,
+        RequestType type
+    ) {
+        // Identical lookups running at the same time share one database call and its cache fill
+        long epoch = vesselCache.epoch();
+        return queryCollapser.execute(type, params, epoch, () -> {
+            List<Vessel> vessels = vesselRepository.getVesselByQuery(params, type);
+            if (type == RequestType.GETBYCOLOR) {
+                // Only a first page that is also the last one holds the complete color
+                if (
+                    PageToken.FIRST_PAGE.equals(params.get("after")) &&
+                    (vessels == null || vessels.size() < (int) params.get("limit"))
+                ) vesselCache.putColor(
+                    (String) params.get("color"),
+                    vessels == null ? List.of() : vessels,
+                    epoch
+                );
+            } else if (vessels != null) {
+                vessels.forEach(vessel -> vesselCache.put(vessel, epoch));
+            }
+            return vessels;
+        });
+    }
 }
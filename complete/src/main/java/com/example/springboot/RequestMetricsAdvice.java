@@ -0,0 +1,161 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.ResponseDTO;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Times the requests of RequestController around the message converters: the "deserialize" stage
+ * from the start to the end of reading the RequestDTO, and the whole request until its ResponseDTO
+ * is written, tagged with the request type and the response message.
+ * Streamed responses do not pass through ResponseBodyAdvice and only report their stages.
+ * A sample of the requests is also logged at DEBUG, one in "vessel.logging.request-sample-rate".
+ */
+@ControllerAdvice(assignableTypes = RequestController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestMetricsAdvice
+    extends RequestBodyAdviceAdapter
+    implements ResponseBodyAdvice<Object> {
+
+    // Request attributes holding the start time and the request type of the current request
+    private static final String START = RequestMetricsAdvice.class.getName() + ".START";
+    private static final String TYPE = RequestMetricsAdvice.class.getName() + ".TYPE";
+
+    // Type tag of the batch endpoint, which carries many request types
+    private static final String BATCH = "BATCH";
+
+    // Outcome tag of lookups answered with a bodyless 304 Not Modified
+    private static final String NOT_MODIFIED = "NOT MODIFIED";
+
+    private static final Logger log = LoggerFactory.getLogger(
+        RequestMetricsAdvice.class
+    );
+
+    private final VesselMetrics metrics;
+
+    // One in this many requests is logged at DEBUG
+    private final int sampleRate;
+
+    // Constructor injection for the meters the timings are recorded to
+    public RequestMetricsAdvice(
+        VesselMetrics metrics,
+        @Value("${vessel.logging.request-sample-rate:100}") int sampleRate
+    ) {
+        this.metrics = metrics;
+        this.sampleRate = Math.max(sampleRate, 1);
+    }
+
+    @Override
+    public boolean supports(
+        MethodParameter methodParameter,
+        Type targetType,
+        Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(
+        HttpInputMessage inputMessage,
+        MethodParameter parameter,
+        Type targetType,
+        Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        setAttribute(START, System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(
+        Object body,
+        HttpInputMessage inputMessage,
+        MethodParameter parameter,
+        Type targetType,
+        Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        Long start = (Long) getAttribute(START);
+        if (body instanceof RequestDTO<?> req) {
+            metrics.recordStage(
+                "deserialize",
+                req.getRequestType(),
+                System.nanoTime() - start
+            );
+            setAttribute(TYPE, String.valueOf(req.getRequestType()));
+        } else if (body instanceof List<?>) {
+            setAttribute(TYPE, BATCH);
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(
+        MethodParameter returnType,
+        Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+        Object body,
+        MethodParameter returnType,
+        MediaType selectedContentType,
+        Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        Long start = (Long) getAttribute(START);
+        Object type = getAttribute(TYPE);
+        if (start != null && type != null) {
+            String outcome = body instanceof ResponseDTO<?> res
+                ? res.getMessage()
+                : body == null ? NOT_MODIFIED : BATCH;
+            long nanos = System.nanoTime() - start;
+            metrics.recordRequest((String) type, outcome, nanos);
+            if (
+                log.isDebugEnabled() &&
+                ThreadLocalRandom.current().nextInt(sampleRate) == 0
+            ) {
+                log
+                    .atDebug()
+                    .addKeyValue("type", type)
+                    .addKeyValue("outcome", outcome)
+                    .addKeyValue("micros", nanos / 1000)
+                    .log("request");
+            }
+        }
+        return body;
+    }
+
+    private static Object getAttribute(String name) {
+        return RequestContextHolder.currentRequestAttributes().getAttribute(
+            name,
+            RequestAttributes.SCOPE_REQUEST
+        );
+    }
+
+    private static void setAttribute(String name, Object value) {
+        RequestContextHolder.currentRequestAttributes().setAttribute(
+            name,
+            value,
+            RequestAttributes.SCOPE_REQUEST
+        );
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselColumns;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process read-through cache for GETBYID and GETBYCOLOR lookups.
+ * Vessels are kept in a size- and TTL-limited LRU map keyed by id, and every color that was
+ * fully loaded from the database is kept as a {@link VesselColumns} store so GETBYCOLOR pages
+ * are answered from memory. Both count against "vessel.cache.max-size"; when it is exceeded the
+ * least recently used colors are evicted before single vessels. An index from id to color lets
+ * GETBYID find the vessels of loaded colors without searching every color.
+ * Writes made through this instance update or invalidate entries precisely.
+ */
+@Component
+public class VesselCache implements MeterBinder {
+
+    // A cached vessel together with the time (System.nanoTime) it stops being valid
+    private record Entry(Vessel vessel, long expiresAt) {}
+
+    // All vessels of one color in id order
+    private record ColorEntry(VesselColumns vessels, long expiresAt) {}
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, ColorEntry> colors = new LinkedHashMap<>(
+        16,
+        0.75f,
+        true
+    );
+
+    // The color entry holding each of its vessels' ids
+    private final Map<UUID, String> colorOfId = new HashMap<>();
+
+    // Number of vessels held by all color entries
+    private int colorRows;
+
+    // Incremented on every write so lookups that raced with a write do not store stale rows
+    private long epoch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor to initialize the cache from the "vessel.cache.*" properties.
+     *
+     * @param enabled Whether lookups are served from the cache at all.
+     * @param maxSize The maximum number of vessels kept in memory.
+     * @param ttl     How long a loaded vessel or color stays valid.
+     */
+    public VesselCache(
+        @Value("${vessel.cache.enabled:true}") boolean enabled,
+        @Value("${vessel.cache.max-size:10000}") int maxSize,
+        @Value("${vessel.cache.ttl:60s}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Retrieves the write epoch to pass to the put methods after loading from the database.
+     *
+     * @return The current write epoch.
+     */
+    public synchronized long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Retrieves a vessel by its id.
+     *
+     * @param id The id of the vessel.
+     * @return A copy of the cached vessel, or null on a miss.
+     */
+    public synchronized Vessel get(UUID id) {
+        if (!enabled) return null;
+        Entry entry = liveEntry(id);
+        if (entry != null) {
+            hits.increment();
+            return copy(entry.vessel());
+        }
+        // Vessels of a loaded color are only held by their color entry
+        String color = colorOfId.get(id);
+        if (color != null) {
+            ColorEntry colorEntry = colors.get(color);
+            if (colorEntry.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return colorEntry.vessels().get(id);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Retrieves all vessels of a color, if that color was fully loaded.
+     *
+     * @param color The color of the vessels.
+     * @return Copies of the cached vessels (possibly empty), or null on a miss.
+     */
+    public synchronized List<Vessel> getByColor(String color) {
+        ColorEntry colorEntry = liveColor(color);
+        return colorEntry == null ? null : colorEntry.vessels().toList();
+    }
+
+    /**
+     * Retrieves one keyset page of a color, if that color was fully loaded.
+     *
+     * @param color The color of the vessels.
+     * @param after The id the page starts after.
+     * @param limit The maximum number of vessels.
+     * @return Copies of the cached vessels in id order (possibly empty), or null on a miss.
+     */
+    public synchronized ArrayList<Vessel> getColorPage(
+        String color,
+        UUID after,
+        int limit
+    ) {
+        ColorEntry colorEntry = liveColor(color);
+        return colorEntry == null ? null : colorEntry.vessels().page(after, limit);
+    }
+
+    /**
+     * Stores a vessel loaded from the database.
+     *
+     * @param vessel The loaded vessel.
+     * @param loadEpoch The epoch returned by {@link #epoch()} before the database was queried.
+     */
+    public synchronized void put(Vessel vessel, long loadEpoch) {
+        if (!enabled || loadEpoch != epoch) return;
+        store(vessel);
+        trim();
+    }
+
+    /**
+     * Stores the complete result of a color lookup loaded from the database.
+     *
+     * @param color The color that was queried.
+     * @param vessels All vessels of that color (possibly empty).
+     * @param loadEpoch The epoch returned by {@link #epoch()} before the database was queried.
+     */
+    public synchronized void putColor(
+        String color,
+        List<Vessel> vessels,
+        long loadEpoch
+    ) {
+        // A color that does not fit into the cache could never be answered completely
+        if (!enabled || loadEpoch != epoch || vessels.size() > maxSize) return;
+        removeColor(color);
+        VesselColumns columns = VesselColumns.of(vessels);
+        colors.put(color, new ColorEntry(columns, System.nanoTime() + ttlNanos));
+        colorRows += columns.size();
+        for (Vessel vessel : vessels) {
+            // A vessel still held under the color it had before moves to this entry
+            String previous = colorOfId.put(vessel.getId(), color);
+            if (previous != null && !previous.equals(color)) {
+                colors.get(previous).vessels().remove(vessel.getId());
+                colorRows--;
+            }
+        }
+        trim();
+    }
+
+    /**
+     * Applies a successful write to the cached entries.
+     *
+     * @param type The request type (CREATE, UPDATE, DELETE).
+     * @param vessel The vessel that was written; only the id is used for DELETE.
+     */
+    public synchronized void onWrite(RequestType type, Vessel vessel) {
+        epoch++;
+        if (!enabled) return;
+        UUID id = vessel.getId();
+        entries.remove(id);
+        String previous = colorOfId.remove(id);
+        if (previous != null) {
+            colors.get(previous).vessels().remove(id);
+            colorRows--;
+        }
+
+        if (type == RequestType.CREATE || type == RequestType.UPDATE) {
+            ColorEntry colorEntry = colors.get(vessel.getColor());
+            if (colorEntry != null) {
+                colorEntry.vessels().put(vessel);
+                colorOfId.put(id, vessel.getColor());
+                colorRows++;
+            } else {
+                store(vessel);
+            }
+            trim();
+        }
+    }
+
+    /**
+     * Drops every entry, for bulk writes whose vessels are not applied one by one.
+     */
+    public synchronized void clear() {
+        epoch++;
+        entries.clear();
+        colors.clear();
+        colorOfId.clear();
+        colorRows = 0;
+    }
+
+    /**
+     * Registers the hit, miss and eviction counters and the size gauge.
+     *
+     * @param registry The registry the meters are added to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("vessel.cache.hits", hits, LongAdder::sum)
+            .description("Lookups answered from the vessel cache")
+            .register(registry);
+        FunctionCounter.builder("vessel.cache.misses", misses, LongAdder::sum)
+            .description("Lookups that had to query the database")
+            .register(registry);
+        FunctionCounter.builder(
+            "vessel.cache.evictions",
+            evictions,
+            LongAdder::sum
+        )
+            .description("Vessels evicted because the cache was full")
+            .register(registry);
+        Gauge.builder("vessel.cache.size", this, VesselCache::size)
+            .description("Vessels currently held in the cache")
+            .register(registry);
+    }
+
+    /**
+     * Retrieves the number of vessels currently held in the cache, single and per color.
+     *
+     * @return The number of cached vessels.
+     */
+    public synchronized int size() {
+        return entries.size() + colorRows;
+    }
+
+    // Returns the entry of an id, dropping it if its TTL has passed
+    private Entry liveEntry(UUID id) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(id);
+            return null;
+        }
+        return entry;
+    }
+
+    // Returns the entry of a color and counts the lookup, dropping it if its TTL has passed
+    private ColorEntry liveColor(String color) {
+        if (!enabled) return null;
+        ColorEntry colorEntry = colors.get(color);
+        if (colorEntry != null && colorEntry.expiresAt() - System.nanoTime() > 0) {
+            hits.increment();
+            return colorEntry;
+        }
+        removeColor(color);
+        misses.increment();
+        return null;
+    }
+
+    private void removeColor(String color) {
+        ColorEntry removed = colors.remove(color);
+        if (removed != null) unindex(removed.vessels());
+    }
+
+    // Drops the ids of a removed color entry from the index and the row count
+    private void unindex(VesselColumns vessels) {
+        for (int i = 0; i < vessels.size(); i++) {
+            colorOfId.remove(vessels.getId(i));
+        }
+        colorRows -= vessels.size();
+    }
+
+    // Evicts the least recently used colors, then single vessels, until the cache fits max-size
+    private void trim() {
+        Iterator<ColorEntry> eldestColors = colors.values().iterator();
+        while (entries.size() + colorRows > maxSize && eldestColors.hasNext()) {
+            VesselColumns vessels = eldestColors.next().vessels();
+            eldestColors.remove();
+            unindex(vessels);
+            evictions.add(vessels.size());
+        }
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() + colorRows > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void store(Vessel vessel) {
+        entries.put(
+            vessel.getId(),
+            new Entry(copy(vessel), System.nanoTime() + ttlNanos)
+        );
+    }
+
+    // Vessel is mutable, so callers never share instances with the cache
+    private static Vessel copy(Vessel vessel) {
+        return new Vessel(vessel.getId(), vessel.getType(), vessel.getColor());
+    }
+}
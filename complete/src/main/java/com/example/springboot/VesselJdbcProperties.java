@@ -0,0 +1,109 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Typed "vessel.jdbc.*" settings for the statements VesselRepository runs.
+ * The values are checked when the properties are bound, so an invalid setting fails the startup
+ * instead of the first request.
+ *
+ * @param defaultTimeout The query timeout of request types without an entry in "timeout".
+ * @param timeout        The query timeout per request type; JDBC timeouts have a one second resolution.
+ * @param fetchSize      The number of rows fetched per round trip per request type (0 uses the driver default).
+ * @param stream         The settings of streamed GETBYCOLOR queries.
+ */
+@ConfigurationProperties("vessel.jdbc")
+public record VesselJdbcProperties(
+    @DefaultValue("5s") Duration defaultTimeout,
+    Map<RequestType, Duration> timeout,
+    Map<RequestType, Integer> fetchSize,
+    @DefaultValue Stream stream
+) {
+    public VesselJdbcProperties {
+        timeout = timeout == null
+            ? new EnumMap<>(RequestType.class)
+            : new EnumMap<>(timeout);
+        fetchSize = fetchSize == null
+            ? new EnumMap<>(RequestType.class)
+            : new EnumMap<>(fetchSize);
+        requireTimeout("vessel.jdbc.default-timeout", defaultTimeout);
+        timeout.forEach((type, value) ->
+            requireTimeout("vessel.jdbc.timeout." + type, value)
+        );
+        fetchSize.forEach((type, value) ->
+            requireFetchSize("vessel.jdbc.fetch-size." + type, value)
+        );
+    }
+
+    /**
+     * Settings of streamed GETBYCOLOR queries, which read through a server-side cursor.
+     *
+     * @param fetchSize The number of rows held in memory at once.
+     * @param timeout   The query timeout, long enough to stream a whole color.
+     */
+    public record Stream(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("5m") Duration timeout
+    ) {
+        public Stream {
+            if (fetchSize <= 0) {
+                // Without a fetch size PostgreSQL materializes the whole result
+                throw new IllegalArgumentException(
+                    "vessel.jdbc.stream.fetch-size must be positive"
+                );
+            }
+            requireTimeout("vessel.jdbc.stream.timeout", timeout);
+        }
+
+        /**
+         * Retrieves the stream timeout in whole seconds, as JDBC expects it.
+         *
+         * @return The timeout, rounded up to whole seconds.
+         */
+        public int timeoutSeconds() {
+            return toSeconds(timeout);
+        }
+    }
+
+    /**
+     * Retrieves the query timeout of a request type in whole seconds, as JDBC expects it.
+     *
+     * @param type The request type.
+     * @return The timeout, rounded up to whole seconds.
+     */
+    public int timeoutSeconds(RequestType type) {
+        return toSeconds(timeout.getOrDefault(type, defaultTimeout));
+    }
+
+    /**
+     * Retrieves the fetch size of a request type.
+     *
+     * @param type The request type.
+     * @return The fetch size, or 0 for the driver default.
+     */
+    public int fetchSize(RequestType type) {
+        return fetchSize.getOrDefault(type, 0);
+    }
+
+    private static int toSeconds(Duration timeout) {
+        return (int) Math.ceilDiv(timeout.toMillis(), 1000);
+    }
+
+    private static void requireTimeout(String name, Duration value) {
+        // A zero timeout would mean "no timeout" to JDBC
+        if (value == null || value.isNegative() || value.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+    }
+
+    private static void requireFetchSize(String name, Integer value) {
+        if (value == null || value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.Vessel;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Append-only file of the writes made to an InMemoryVesselRepository, replayed on restart.
+ * Every record is a put (the full vessel) or a delete (its id). Opening a journal rewrites it
+ * as a snapshot holding one put per live vessel, so it does not grow beyond the writes
+ * made since the last start.
+ * Records are queued without a lock while the write holds its id, so they keep the order the
+ * writes were applied in, and {@link #sync} writes out everything queued so far under one lock
+ * and one flush, so concurrent writers share a write to the file instead of taking turns.
+ */
+class VesselJournal implements Closeable {
+
+    private static final byte PUT = 'P';
+    private static final byte DELETE = 'D';
+
+    private final Path file;
+
+    // Forces every record to disk, not only to the operating system
+    private final boolean fsync;
+
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+
+    // A queued put (the vessel) or delete (no vessel)
+    private record Entry(UUID id, Vessel vessel) {}
+
+    // Records queued by writers and not yet written to the file
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+
+    // The first write to the file that failed; the records after it are not written
+    private IOException failure;
+
+    /**
+     * Opens a journal file, creating it if it does not exist yet.
+     *
+     * @param file  The journal file.
+     * @param fsync Whether every record is forced to disk before the write returns.
+     */
+    VesselJournal(Path file, boolean fsync) {
+        this.file = file;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Replays the journal, calling the handlers in the order the records were written.
+     * A record cut short by a crash ends the replay.
+     *
+     * @param put    Receives every vessel that was written.
+     * @param delete Receives the id of every vessel that was deleted.
+     * @throws IOException If the journal cannot be read.
+     */
+    void replay(Consumer<Vessel> put, Consumer<UUID> delete) throws IOException {
+        if (!Files.exists(file)) return;
+        try (
+            DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file))
+            )
+        ) {
+            while (true) {
+                int op = in.read();
+                if (op < 0) return;
+                UUID id = new UUID(in.readLong(), in.readLong());
+                if (op == PUT) {
+                    put.accept(new Vessel(id, readString(in), readString(in)));
+                } else if (op == DELETE) {
+                    delete.accept(id);
+                } else {
+                    throw new IOException("corrupt journal record in " + file);
+                }
+            }
+        } catch (EOFException e) {
+            // The last record was not completely written
+        }
+    }
+
+    /**
+     * Replaces the journal with a snapshot of the given vessels and opens it for appending.
+     *
+     * @param vessels The live vessels after the replay.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    synchronized void open(Collection<Vessel> vessels) throws IOException {
+        Path snapshot = file.resolveSibling(file.getFileName() + ".snapshot");
+        try (FileOutputStream snapshotOut = new FileOutputStream(snapshot.toFile())) {
+            DataOutputStream data = new DataOutputStream(
+                new BufferedOutputStream(snapshotOut)
+            );
+            for (Vessel vessel : vessels) {
+                writePut(data, vessel);
+            }
+            data.flush();
+            snapshotOut.getChannel().force(true);
+        }
+        Files.move(
+            snapshot,
+            file,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE
+        );
+        fileOut = new FileOutputStream(file.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(fileOut));
+    }
+
+    /**
+     * Queues the current state of a vessel; it is written by the next {@link #sync}.
+     *
+     * @param vessel The vessel that was created or updated; it must not change afterwards.
+     */
+    void put(Vessel vessel) {
+        pending.add(new Entry(vessel.getId(), vessel));
+    }
+
+    /**
+     * Queues the deletion of a vessel; it is written by the next {@link #sync}.
+     *
+     * @param id The id of the deleted vessel.
+     */
+    void delete(UUID id) {
+        pending.add(new Entry(id, null));
+    }
+
+    /**
+     * Writes out every record queued so far, including those of other writers, and flushes once.
+     * Returns without writing if another caller already wrote the records queued before this call.
+     *
+     * @throws IOException If this or an earlier write to the file failed.
+     */
+    synchronized void sync() throws IOException {
+        if (failure != null) throw failure;
+        if (pending.isEmpty()) return;
+        try {
+            for (Entry entry = pending.poll(); entry != null; entry = pending.poll()) {
+                if (entry.vessel() != null) {
+                    writePut(out, entry.vessel());
+                } else {
+                    out.writeByte(DELETE);
+                    out.writeLong(entry.id().getMostSignificantBits());
+                    out.writeLong(entry.id().getLeastSignificantBits());
+                }
+            }
+            flush();
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out == null) return;
+        try {
+            sync();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        // Written through to the operating system, so a crash of the JVM loses nothing
+        out.flush();
+        if (fsync) fileOut.getChannel().force(false);
+    }
+
+    private static void writePut(DataOutputStream data, Vessel vessel)
+        throws IOException {
+        data.writeByte(PUT);
+        data.writeLong(vessel.getId().getMostSignificantBits());
+        data.writeLong(vessel.getId().getLeastSignificantBits());
+        writeString(data, vessel.getType());
+        writeString(data, vessel.getColor());
+    }
+
+    private static void writeString(DataOutputStream data, String value)
+        throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) data.writeUTF(value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
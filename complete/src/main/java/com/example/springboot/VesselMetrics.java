@@ -0,0 +1,137 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records the hot-path meters of the vessel API.
+ * Histograms and percentiles are switched on per meter with the
+ * "management.metrics.distribution.*" properties.
+ *
+ * <ul>
+ *   <li>"vessel.requests": time from reading the request body to writing the ResponseDTO,
+ *       tagged with the RequestType and the ResponseDTO message as outcome.</li>
+ *   <li>"vessel.request.stage": time spent in one stage of a request (deserialize, dispatch).</li>
+ *   <li>"vessel.db.query": time spent in the SQL of a RequestType, tagged success, timeout or error.</li>
+ *   <li>"vessel.getbycolor.rows": number of vessels returned per GETBYCOLOR request.</li>
+ *   <li>"vessel.write.batch.size": number of single writes the WriteBatcher grouped into one flush.</li>
+ *   <li>"vessel.copy.rows": vessels streamed by the bulk import and export endpoints, counted while
+ *       they stream, tagged with the direction.</li>
+ * </ul>
+ */
+@Component
+public class VesselMetrics {
+
+    private final MeterRegistry registry;
+
+    private final DistributionSummary colorRows;
+
+    private final DistributionSummary writeBatches;
+
+    // Constructor injection for the registry the meters are published to
+    public VesselMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.colorRows = DistributionSummary.builder("vessel.getbycolor.rows")
+            .description("Vessels returned per GETBYCOLOR request")
+            .baseUnit("rows")
+            .register(registry);
+        this.writeBatches = DistributionSummary.builder("vessel.write.batch.size")
+            .description("Single writes grouped into one flush of the WriteBatcher")
+            .baseUnit("writes")
+            .register(registry);
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param type The request type, or "BATCH" for the batch endpoint.
+     * @param outcome The message of the returned ResponseDTO.
+     * @param nanos The time the request took.
+     */
+    public void recordRequest(String type, String outcome, long nanos) {
+        Timer.builder("vessel.requests")
+            .tag("type", type)
+            .tag("outcome", outcome)
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time spent in one stage of a request.
+     *
+     * @param stage The stage (deserialize, dispatch).
+     * @param type The request type being processed.
+     * @param nanos The time the stage took.
+     */
+    public void recordStage(String stage, RequestType type, long nanos) {
+        Timer.builder("vessel.request.stage")
+            .tag("stage", stage)
+            .tag("type", String.valueOf(type))
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs and times the SQL of a request type.
+     *
+     * @param type The request type whose SQL runs.
+     * @param query The database call.
+     * @return The result of the database call.
+     */
+    public <T> T timeQuery(RequestType type, Supplier<T> query) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = query.get();
+            outcome = "success";
+            return result;
+        } catch (QueryTimeoutException e) {
+            outcome = "timeout";
+            throw e;
+        } finally {
+            Timer.builder("vessel.db.query")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records the number of vessels returned by a GETBYCOLOR request.
+     *
+     * @param rows The number of vessels in the page or stream.
+     */
+    public void recordColorRows(int rows) {
+        colorRows.record(rows);
+    }
+
+    /**
+     * Records the number of single writes grouped into one flush.
+     *
+     * @param writes The number of CREATE, UPDATE and DELETE requests written together.
+     */
+    public void recordWriteBatch(int writes) {
+        writeBatches.record(writes);
+    }
+
+    /**
+     * Counts vessels streamed by a bulk import or export.
+     *
+     * @param direction "import" or "export".
+     * @param rows The number of vessels streamed since the last call.
+     */
+    public void recordCopyRows(String direction, long rows) {
+        Counter.builder("vessel.copy.rows")
+            .tag("direction", direction)
+            .register(registry)
+            .increment(rows);
+    }
+}
@@ -1,84 +1,495 @@
 package com.example.springboot;
 
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseETag;
 import com.example.springboot.CustomData.Vessel;
-import java.sql.ResultSet;
+import com.example.springboot.CustomData.VesselCopyFormat;
+import com.example.springboot.CustomData.VesselIdGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyOut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SqlArrayValue;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository class for handling database operations related to the Vessel entity.
+ * Every RequestType runs through its own template, so the query timeout and fetch size
+ * configured in "vessel.jdbc.*" apply per request type.
+ * The "in-memory" profile replaces it with {@link InMemoryVesselRepository}.
  */
 @Repository
+@Profile("!in-memory")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class VesselRepository {
 
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    // Maximum number of fresh ids tried when an insert collides with an existing vessel.
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    // SQLState PostgreSQL reports for a statement cancelled by its query timeout
+    private static final String QUERY_CANCELED = "57014";
+
+    // Columns of the vessel table in the order of toParams and VESSEL_ROW_MAPPER
+    static final String VESSEL_COLUMNS = "id, type, color";
+
+    // Bulk import: COPY into a temporary table, then insert the new ids into vessel
+    private static final String CREATE_IMPORT_TABLE_SQL =
+        "CREATE TEMPORARY TABLE vessel_import (LIKE vessel) ON COMMIT DROP";
+    private static final String COPY_IN_SQL =
+        "COPY vessel_import (" + VESSEL_COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_IMPORTED_SQL =
+        "INSERT INTO vessel (" + VESSEL_COLUMNS + ") " +
+        "SELECT " + VESSEL_COLUMNS + " FROM vessel_import ON CONFLICT (id) DO NOTHING";
+
+    // Bulk export per format, "%s" is the WHERE clause. NDJSON lines are built by row_to_json;
+    // as CSV with delimiter and quote characters JSON never contains unescaped, they are written as is.
+    private static final Map<VesselCopyFormat, String> COPY_OUT_SQL = Map.of(
+        VesselCopyFormat.CSV,
+        "COPY (SELECT " + VESSEL_COLUMNS + " FROM vessel%s) " +
+        "TO STDOUT WITH (FORMAT csv, HEADER)",
+        VesselCopyFormat.NDJSON,
+        "COPY (SELECT row_to_json(v) FROM (SELECT " + VESSEL_COLUMNS + " FROM vessel%s) v) " +
+        "TO STDOUT WITH (FORMAT csv, DELIMITER E'\\x02', QUOTE E'\\x01')"
+    );
+
+    // Bytes of CSV records sent to PostgreSQL per COPY chunk
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+
+    // Exported records between two progress reports
+    static final long COPY_PROGRESS_ROWS = 10_000;
+
+    // Maps a row of the "vessel" table to a Vessel object.
+    static final RowMapper<Vessel> VESSEL_ROW_MAPPER = (rs, rowNum) ->
+        new Vessel(
+            UUID.fromString(rs.getString("id")),
+            rs.getString("type"),
+            rs.getString("color")
+        );
+
+    // Templates carrying the query timeout and fetch size of each request type
+    private final Map<RequestType, NamedParameterJdbcTemplate> templates =
+        new EnumMap<>(RequestType.class);
+
+    // Template with a fetch size set, so streamed queries read through a server-side cursor
+    private final NamedParameterJdbcTemplate streamingTemplate;
+
+    // Times the SQL of every request type
+    private final VesselMetrics metrics;
 
     /**
      * Constructor to initialize the repository with a JdbcTemplate for database interaction.
      *
-     * @param jdbcTemplate The JdbcTemplate instance for executing SQL queries.
+     * @param jdbcTemplate The JdbcTemplate whose DataSource the statements run against.
+     * @param properties   The query timeouts and fetch sizes per request type.
+     * @param metrics      The meters the SQL timings are recorded to.
      */
-    public VesselRepository(NamedParameterJdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    @Autowired
+    public VesselRepository(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        VesselJdbcProperties properties,
+        VesselMetrics metrics
+    ) {
+        this.metrics = metrics;
+        DataSource dataSource = jdbcTemplate.getJdbcTemplate().getDataSource();
+        for (RequestType type : RequestType.values()) {
+            templates.put(
+                type,
+                createTemplate(
+                    dataSource,
+                    properties.timeoutSeconds(type),
+                    properties.fetchSize(type)
+                )
+            );
+        }
+        this.streamingTemplate = createTemplate(
+            dataSource,
+            properties.stream().timeoutSeconds(),
+            properties.stream().fetchSize()
+        );
     }
 
     /**
-     * Retrieves a list of Vessel objects from the database based on the provided SQL query and arguments.
+     * Constructor for repositories that keep the vessels somewhere other than the database
+     * and override every operation; no statement can run through this instance.
      *
-     * @param args The arguments to be passed into the SQL query (e.g., parameters for WHERE clause).
-     * @param sql  The SQL query string to execute.
+     * @param metrics The meters the operation timings are recorded to.
+     */
+    protected VesselRepository(VesselMetrics metrics) {
+        this.metrics = metrics;
+        this.streamingTemplate = null;
+    }
+
+    /**
+     * Retrieves a list of Vessel objects from the database using the SQL query of a request type.
+     *
+     * @param params The arguments to be passed into the SQL query (e.g., parameters for WHERE clause).
+     * @param type   The request type whose SQL query is executed (GETBYID, GETBYCOLOR).
      * @return A list of Vessel objects matching the query, or null if no results are found.
+     * @throws QueryTimeoutException If the query runs longer than the timeout of the request type.
      */
     public List<Vessel> getVesselByQuery(
         Map<String, Object> params,
-        String sql
+        RequestType type
     ) {
-        // Use RowMapper to map ResultSet to Vessel object.
-        RowMapper<Vessel> rowMapper = new RowMapper<Vessel>() {
-            @Override
-            public Vessel mapRow(ResultSet rs, int rowNum) throws SQLException {
-                // Extract values from the ResultSet
-                UUID vesselId = UUID.fromString(rs.getString("id"));
-                String type = rs.getString("type");
-                String color = rs.getString("color");
-
-                // Return a new Vessel object based on the ResultSet values
-                return new Vessel(vesselId, type, color);
-            }
-        };
-
         // Execute the query and map each row to a Vessel object
-        List<Vessel> vessels = jdbcTemplate.query(sql, params, rowMapper);
+        List<Vessel> vessels = metrics.timeQuery(type, () ->
+            templates
+                .get(type)
+                .query(type.getRequestTypeSql(), params, VESSEL_ROW_MAPPER)
+        );
 
         // Return the list of vessels or null if the list is empty
         return vessels.isEmpty() ? null : vessels;
     }
 
     /**
-     * Executes an SQL update operation for the Vessel entity.
+     * Computes the entity tag of the response to a GETBYID or GETBYCOLOR query in the database,
+     * so it reflects every write to the matching rows, and only the digest is read back.
+     *
+     * @param params The arguments to be passed into the SQL query.
+     * @param type   The request type of the lookup.
+     * @return The entity tag {@link ResponseETag#of} computes from the same rows.
+     */
+    public String getResponseETag(Map<String, Object> params, RequestType type) {
+        Map<String, Object> args = new HashMap<>(params);
+        args.put(ResponseETag.QUERY_PARAM, ResponseETag.query(type, params));
+        String digest = metrics.timeQuery(type, () ->
+            templates.get(type).queryForObject(ResponseETag.sql(type), args, String.class)
+        );
+        return ResponseETag.tag(digest);
+    }
+
+    /**
+     * Streams the Vessel objects matching a query to a consumer one row at a time.
+     * The query runs in a read-only transaction so PostgreSQL uses a cursor and only
+     * "vessel.jdbc.stream.fetch-size" rows are held in memory at once.
      *
-     * @param vessel The Vessel object containing the data to be updated in the database.
-     * @param sql    The SQL update query string to execute.
-     * @return The updated Vessel object.
+     * @param params   The arguments to be passed into the SQL query.
+     * @param type     The request type whose SQL query is executed.
+     * @param consumer Receives every matching vessel in result order.
+     * @return The number of vessels passed to the consumer.
      */
-    public Vessel updateSql(Vessel vessel, String sql) {
-        // Create a MapSqlParameterSource to map named parameters in the SQL query.
-        MapSqlParameterSource params = new MapSqlParameterSource()
+    @Transactional(readOnly = true)
+    public int streamVesselByQuery(
+        Map<String, Object> params,
+        RequestType type,
+        Consumer<Vessel> consumer
+    ) {
+        int[] rowNum = { 0 };
+        RowCallbackHandler handler = rs ->
+            consumer.accept(VESSEL_ROW_MAPPER.mapRow(rs, rowNum[0]++));
+        return metrics.timeQuery(type, () -> {
+            streamingTemplate.query(type.getRequestTypeSql(), params, handler);
+            return rowNum[0];
+        });
+    }
+
+    /**
+     * Inserts a new Vessel in a single round trip.
+     * The SQL is expected to skip conflicting ids and return the inserted row
+     * (INSERT ... ON CONFLICT DO NOTHING RETURNING *), so a collision shows up as an empty result
+     * and is retried with a freshly generated id.
+     *
+     * @param vessel The Vessel object to insert; its id is replaced if it collides.
+     * @param type   The request type whose SQL insert query is executed (CREATE).
+     * @return The inserted Vessel object, or null if no free id was found.
+     */
+    public Vessel insertSql(Vessel vessel, RequestType type) {
+        for (int attempt = 0; attempt < MAX_INSERT_ATTEMPTS; attempt++) {
+            List<Vessel> inserted = metrics.timeQuery(type, () ->
+                templates
+                    .get(type)
+                    .query(
+                        type.getRequestTypeSql(),
+                        toParams(vessel),
+                        VESSEL_ROW_MAPPER
+                    )
+            );
+            if (!inserted.isEmpty()) return inserted.get(0);
+            vessel.setId(VesselIdGenerator.next());
+        }
+        return null;
+    }
+
+    /**
+     * Updates or deletes a Vessel in a single round trip.
+     * The SQL is expected to return the written row (UPDATE/DELETE ... RETURNING *),
+     * so a missing id shows up as an empty result without a lookup beforehand.
+     *
+     * @param vessel The Vessel object containing the data to be written.
+     * @param type   The request type whose SQL query is executed (UPDATE, DELETE).
+     * @return The row as written (the deleted row for DELETE), or null if the id does not exist.
+     */
+    public Vessel updateSql(Vessel vessel, RequestType type) {
+        List<Vessel> written = metrics.timeQuery(type, () ->
+            templates
+                .get(type)
+                .query(type.getRequestTypeSql(), toParams(vessel), VESSEL_ROW_MAPPER)
+        );
+        return written.isEmpty() ? null : written.get(0);
+    }
+
+    /**
+     * Executes the same SQL statement for many Vessel objects as one JDBC batch inside a single transaction.
+     *
+     * @param vessels The Vessel objects whose fields are bound to the statement, one batch entry each.
+     * @param type    The request type whose batch SQL statement is executed for every vessel.
+     * @return The update count of every batch entry, in the order of the given vessels.
+     */
+    @Transactional
+    public int[] batchUpdateSql(List<Vessel> vessels, RequestType type) {
+        SqlParameterSource[] batch = new SqlParameterSource[vessels.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = toParams(vessels.get(i));
+        }
+        return metrics.timeQuery(type, () ->
+            templates.get(type).batchUpdate(type.getBatchSql(), batch)
+        );
+    }
+
+    /**
+     * Writes single CREATE, UPDATE and DELETE requests collected by {@link WriteBatcher} in one
+     * transaction, with one multi-row statement per request type that returns the written rows.
+     * Each write gets the result insertSql or updateSql would have given it: a CREATE whose id
+     * collides is retried with a fresh id, and an UPDATE or DELETE of a missing id writes nothing.
+     *
+     * @param writes The vessels to write per request type; an id must not occur twice.
+     * @return The written rows per request type, in the order of the given vessels,
+     *         with null for every vessel that was not written.
+     */
+    @Transactional
+    public Map<RequestType, Vessel[]> groupWriteSql(
+        Map<RequestType, List<Vessel>> writes
+    ) {
+        Map<RequestType, Vessel[]> results = new EnumMap<>(RequestType.class);
+        writes.forEach((type, vessels) -> {
+            Vessel[] written = new Vessel[vessels.size()];
+            List<Integer> pending = new ArrayList<>(vessels.size());
+            for (int i = 0; i < written.length; i++) pending.add(i);
+            // Only CREATE retries: the ids that collided get fresh ones and are written again
+            int attempts = type == RequestType.CREATE ? MAX_INSERT_ATTEMPTS : 1;
+            for (int attempt = 0; attempt < attempts && !pending.isEmpty(); attempt++) {
+                if (attempt > 0) {
+                    pending.forEach(i -> vessels.get(i).setId(VesselIdGenerator.next()));
+                }
+                MapSqlParameterSource params = new MapSqlParameterSource();
+                Object[] ids = new Object[pending.size()];
+                Object[] types = new Object[pending.size()];
+                Object[] colors = new Object[pending.size()];
+                for (int j = 0; j < ids.length; j++) {
+                    Vessel vessel = vessels.get(pending.get(j));
+                    ids[j] = vessel.getId();
+                    types[j] = vessel.getType();
+                    colors[j] = vessel.getColor();
+                }
+                params.addValue("ids", new SqlArrayValue("uuid", ids));
+                params.addValue("types", new SqlArrayValue("varchar", types));
+                params.addValue("colors", new SqlArrayValue("varchar", colors));
+
+                Map<UUID, Vessel> rows = new HashMap<>();
+                metrics.timeQuery(type, () -> {
+                    templates
+                        .get(type)
+                        .query(type.getGroupSql(), params, (rs, rowNum) -> {
+                            Vessel row = VESSEL_ROW_MAPPER.mapRow(rs, rowNum);
+                            rows.put(row.getId(), row);
+                            return row;
+                        });
+                    return rows.size();
+                });
+                pending.removeIf(i -> {
+                    written[i] = rows.get(vessels.get(i).getId());
+                    return written[i] != null;
+                });
+            }
+            results.put(type, written);
+        });
+        return results;
+    }
+
+    /**
+     * Imports vessels with COPY in a single transaction. Records are sent to PostgreSQL as they are
+     * read, in chunks of "COPY_CHUNK_BYTES", into a temporary table, and then inserted with
+     * ON CONFLICT (id) DO NOTHING as a CREATE would be, so ids that already exist are skipped.
+     * An invalid record cancels the COPY and rolls the whole import back.
+     * The insert runs with the "vessel.jdbc.stream" timeout.
+     *
+     * @param vessels  The vessels to import, read lazily (see {@link VesselCopyFormat#read}).
+     * @param progress Receives the number of records sent with every chunk.
+     * @return The numbers of records read and vessels inserted.
+     * @throws IllegalArgumentException If a record is invalid.
+     */
+    @Transactional
+    public ImportSummary importVessels(
+        Iterator<Vessel> vessels,
+        LongConsumer progress
+    ) {
+        return streamingTemplate
+            .getJdbcTemplate()
+            .execute((ConnectionCallback<ImportSummary>) con -> {
+                try (Statement statement = con.createStatement()) {
+                    statement.execute(CREATE_IMPORT_TABLE_SQL);
+                }
+                CopyIn copyIn = con
+                    .unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_IN_SQL);
+                long rows = 0;
+                try {
+                    StringBuilder chunk = new StringBuilder(COPY_CHUNK_BYTES);
+                    int chunkRows = 0;
+                    while (vessels.hasNext()) {
+                        VesselCopyFormat.CSV.write(vessels.next(), chunk);
+                        chunkRows++;
+                        if (chunk.length() >= COPY_CHUNK_BYTES) {
+                            writeToCopy(copyIn, chunk);
+                            progress.accept(chunkRows);
+                            rows += chunkRows;
+                            chunkRows = 0;
+                        }
+                    }
+                    writeToCopy(copyIn, chunk);
+                    progress.accept(chunkRows);
+                    rows += chunkRows;
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) copyIn.cancelCopy();
+                }
+                try (Statement statement = con.createStatement()) {
+                    return new ImportSummary(
+                        rows,
+                        statement.executeUpdate(INSERT_IMPORTED_SQL)
+                    );
+                }
+            });
+    }
+
+    /**
+     * Exports vessels with COPY ... TO STDOUT. PostgreSQL writes the records itself and they are
+     * passed on to the output stream row by row, so no Vessel objects are built.
+     *
+     * @param color    The color of the vessels to export, or null to export all vessels.
+     * @param format   The format of the records.
+     * @param out      The stream the records are written to.
+     * @param progress Receives the number of records written with every "COPY_PROGRESS_ROWS" records.
+     * @return The number of records written.
+     */
+    @Transactional(readOnly = true)
+    public long exportVessels(
+        String color,
+        VesselCopyFormat format,
+        OutputStream out,
+        LongConsumer progress
+    ) {
+        return streamingTemplate
+            .getJdbcTemplate()
+            .execute((ConnectionCallback<Long>) con -> {
+                PGConnection pg = con.unwrap(PGConnection.class);
+                String where = color == null
+                    ? ""
+                    : " WHERE color = '" + pg.escapeLiteral(color) + "'";
+                CopyOut copyOut = pg
+                    .getCopyAPI()
+                    .copyOut(
+                        String.format(COPY_OUT_SQL.get(format), where)
+                    );
+                long rows = 0;
+                // The CSV header line is not a record
+                boolean header = format == VesselCopyFormat.CSV;
+                try {
+                    byte[] row;
+                    while ((row = copyOut.readFromCopy()) != null) {
+                        out.write(row);
+                        if (header) {
+                            header = false;
+                        } else if (++rows % COPY_PROGRESS_ROWS == 0) {
+                            progress.accept(COPY_PROGRESS_ROWS);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    if (copyOut.isActive()) copyOut.cancelCopy();
+                }
+                progress.accept(rows % COPY_PROGRESS_ROWS);
+                return rows;
+            });
+    }
+
+    // Sends a chunk of CSV records to a running COPY and empties the chunk
+    private static void writeToCopy(CopyIn copyIn, StringBuilder chunk)
+        throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    /**
+     * Creates a template that applies a query timeout and fetch size to every statement
+     * and reports statements cancelled by the timeout as QueryTimeoutException.
+     *
+     * @param dataSource     The DataSource the statements run against.
+     * @param timeoutSeconds The query timeout in seconds.
+     * @param fetchSize      The fetch size, or 0 for the driver default.
+     * @return The configured template.
+     */
+    private static NamedParameterJdbcTemplate createTemplate(
+        DataSource dataSource,
+        int timeoutSeconds,
+        int fetchSize
+    ) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(timeoutSeconds);
+        template.setFetchSize(fetchSize);
+        SQLExceptionTranslator translator = template.getExceptionTranslator();
+        template.setExceptionTranslator((task, sql, ex) ->
+            QUERY_CANCELED.equals(ex.getSQLState())
+                ? new QueryTimeoutException(task + "; " + ex.getMessage(), ex)
+                : translator.translate(task, sql, ex)
+        );
+        return new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Maps the fields of a Vessel to the named parameters used by the vessel SQL statements.
+     *
+     * @param vessel The Vessel object to map.
+     * @return The parameter source holding "id", "type" and "color".
+     */
+    static MapSqlParameterSource toParams(Vessel vessel) {
+        return new MapSqlParameterSource()
             .addValue("id", vessel.getId().toString(), Types.OTHER) // Map "id" parameter to the vessel's ID.
             .addValue("type", vessel.getType(), Types.VARCHAR) // Map "type" parameter to the vessel's type.
             .addValue("color", vessel.getColor(), Types.VARCHAR); // Map "color" parameter to the vessel's color.
-
-        // Execute the SQL update query with the mapped parameters.
-        jdbcTemplate.update(sql, params);
-
-        // Return the updated Vessel object.
-        return vessel;
     }
 }
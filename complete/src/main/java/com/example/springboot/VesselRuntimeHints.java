@@ -0,0 +1,76 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.Deserializers.RequestDTODeserializer;
+import com.example.springboot.Deserializers.ResponseDTODeserializer;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection hints for a GraalVM native image of the application.
+ * Spring's AOT processing only sees the declared types of controller methods, while the wire formats
+ * also rely on types Jackson resolves at runtime: the "@class" type ids of @JsonTypeInfo(Id.CLASS),
+ * the deserializers named in @JsonDeserialize and the mix-ins of the compact format.
+ */
+public class VesselRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Mix-in classes of WireFormat whose annotations Jackson reads
+    private static final String[] WIRE_FORMAT_MIX_INS = {
+        "com.example.springboot.CustomData.WireFormat$CompactVessel",
+        "com.example.springboot.CustomData.WireFormat$CompactRequest",
+        "com.example.springboot.CustomData.WireFormat$CompactResponse",
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Constructors, fields and accessors Jackson binds, including the types they reference
+        new BindingReflectionHintsRegistrar()
+            .registerReflectionHints(
+                hints.reflection(),
+                Vessel.class,
+                ImportSummary.class,
+                RequestDTO.class,
+                ResponseDTO.class
+            );
+
+        // Instantiated by Jackson from @JsonDeserialize(using = ...)
+        hints
+            .reflection()
+            .registerType(
+                RequestDTODeserializer.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS
+            )
+            .registerType(
+                ResponseDTODeserializer.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS
+            );
+
+        // Class names that appear as "@class" type ids in the legacy format and are loaded by name
+        hints
+            .reflection()
+            .registerType(
+                ArrayList.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS
+            )
+            .registerType(UUID.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+            .registerType(String.class);
+
+        for (String mixIn : WIRE_FORMAT_MIX_INS) {
+            hints
+                .reflection()
+                .registerType(
+                    TypeReference.of(mixIn),
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INTROSPECT_DECLARED_METHODS
+                );
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the message converters for the wire formats selected through content negotiation.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    // A fresh builder carrying the spring.jackson.* settings and modules of the application mapper
+    private final Jackson2ObjectMapperBuilder mapperBuilder;
+
+    // Constructor injection for the application mapper and the builder it was configured with
+    public WireFormatConfig(
+        ObjectMapper objectMapper,
+        Jackson2ObjectMapperBuilder mapperBuilder
+    ) {
+        this.objectMapper = objectMapper;
+        this.mapperBuilder = mapperBuilder;
+    }
+
+    /**
+     * Adds the compact JSON and CBOR converters after the default ones, so clients that accept any
+     * media type keep receiving the legacy format.
+     *
+     * @param converters The converters configured so far.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2HttpMessageConverter compact =
+            new MappingJackson2HttpMessageConverter(
+                WireFormat.compact(objectMapper.copy())
+            );
+        compact.setSupportedMediaTypes(
+            List.of(MediaType.parseMediaType(WireFormat.COMPACT_JSON_VALUE))
+        );
+        converters.add(compact);
+
+        // Replace the default CBOR converter, which would write the legacy "@class" layout; its
+        // mapper is configured as the application mapper is, so CBOR encodes what JSON does
+        converters.removeIf(converter ->
+            converter instanceof MappingJackson2CborHttpMessageConverter
+        );
+        converters.add(
+            new MappingJackson2CborHttpMessageConverter(
+                WireFormat.compact(
+                    mapperBuilder.factory(new CBORFactory()).build()
+                )
+            )
+        );
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.springboot;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Group commit for single CREATE, UPDATE and DELETE requests.
+ * Writes of concurrent requests are queued and written by "vessel.write.batch.flushers" flusher
+ * threads, up to "vessel.write.batch.max-size" at a time, in one transaction with one multi-row
+ * statement per request type ({@link VesselRepository#groupWriteSql}). Once a flusher takes a write
+ * it waits at most "vessel.write.batch.max-wait" for more before it writes them, while the other
+ * flushers keep taking writes; each caller blocks until its own row is written and gets the same
+ * result the single statement would give. A group that violates a constraint or loses a lock is
+ * rolled back and each of its callers writes its row alone on its own thread, so the flusher moves
+ * on at once and only that group pays for the retry.
+ * Disabled, every write runs its own statement on the caller's thread.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WriteBatcher {
+
+    // A queued write and the caller waiting for its row
+    private record PendingWrite(
+        RequestType type,
+        Vessel vessel,
+        CompletableFuture<Vessel> written
+    ) {}
+
+    // Completes the writes of a rolled back group, telling each caller to write its row alone
+    private static final RuntimeException WRITE_ALONE = new RuntimeException(
+        "write alone",
+        null,
+        false,
+        false
+    ) {};
+
+    private final VesselRepository vesselRepository;
+
+    // Number of writes per flush
+    private final VesselMetrics metrics;
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxWaitNanos;
+
+    // Writes waiting for the flusher
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    // Take the queued writes and write them, empty when disabled
+    private final List<Thread> flushers = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    /**
+     * Constructor to initialize the batcher from the "vessel.write.batch.*" properties.
+     *
+     * @param vesselRepository The repository the writes run against.
+     * @param metrics          The meters the flush sizes are recorded to.
+     * @param enabled          Whether concurrent writes are grouped at all.
+     * @param maxSize          The maximum number of writes in one transaction.
+     * @param maxWait          How long a queued write waits for others to join it.
+     * @param flushers         The number of groups written at the same time.
+     */
+    public WriteBatcher(
+        VesselRepository vesselRepository,
+        VesselMetrics metrics,
+        @Value("${vessel.write.batch.enabled:false}") boolean enabled,
+        @Value("${vessel.write.batch.max-size:100}") int maxSize,
+        @Value("${vessel.write.batch.max-wait:2ms}") Duration maxWait,
+        @Value("${vessel.write.batch.flushers:2}") int flushers
+    ) {
+        this.vesselRepository = vesselRepository;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        if (!enabled) return;
+        for (int i = 0; i < flushers; i++) {
+            Thread flusher = new Thread(this::flushLoop, "vessel-write-batcher-" + i);
+            flusher.setDaemon(true);
+            flusher.start();
+            this.flushers.add(flusher);
+        }
+    }
+
+    /**
+     * Stops the flushers once the writes queued so far are written.
+     *
+     * @throws InterruptedException If interrupted while waiting for the flushers.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (flushers.isEmpty()) return;
+        running = false;
+        for (Thread flusher : flushers) flusher.interrupt();
+        for (Thread flusher : flushers) flusher.join();
+    }
+
+    /**
+     * Writes a vessel, together with the writes of other requests if grouping is enabled.
+     *
+     * @param vessel The vessel to write; a CREATE whose id collides gets a fresh one.
+     * @param type   The request type (CREATE, UPDATE, DELETE).
+     * @return The row as written (the deleted row for DELETE), or null if nothing was written.
+     */
+    public Vessel write(Vessel vessel, RequestType type) {
+        if (!enabled || !running) return writeAlone(vessel, type);
+        PendingWrite write = new PendingWrite(type, vessel, new CompletableFuture<>());
+        queue.add(write);
+        // Queued while closing, after the flushers may have seen the queue empty for the last time
+        if (!running && queue.remove(write)) return writeAlone(vessel, type);
+        try {
+            return write.written().join();
+        } catch (CompletionException e) {
+            if (e.getCause() == WRITE_ALONE) return writeAlone(vessel, type);
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    // Collects the queued writes into groups and writes them until closed
+    private void flushLoop() {
+        List<PendingWrite> group = new ArrayList<>(maxSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.take();
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < maxSize) {
+                    queue.drainTo(group, maxSize - group.size());
+                    long wait = deadline - System.nanoTime();
+                    if (group.size() >= maxSize || wait <= 0) break;
+                    PendingWrite next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Closing: write what was taken, then drain the rest without waiting
+                queue.drainTo(group);
+            }
+            if (!group.isEmpty()) flush(group);
+            group.clear();
+        }
+    }
+
+    // Writes a group as transactions in which no id occurs twice, in the order the writes were queued
+    private void flush(List<PendingWrite> group) {
+        metrics.recordWriteBatch(group.size());
+        List<PendingWrite> part = new ArrayList<>(group.size());
+        Set<UUID> ids = new HashSet<>();
+        for (PendingWrite write : group) {
+            if (!ids.add(write.vessel().getId())) {
+                flushPart(part);
+                part.clear();
+                ids.clear();
+                ids.add(write.vessel().getId());
+            }
+            part.add(write);
+        }
+        flushPart(part);
+    }
+
+    private void flushPart(List<PendingWrite> part) {
+        Map<RequestType, List<PendingWrite>> byType = new EnumMap<>(
+            RequestType.class
+        );
+        Map<RequestType, List<Vessel>> vessels = new EnumMap<>(RequestType.class);
+        for (PendingWrite write : part) {
+            byType.computeIfAbsent(write.type(), k -> new ArrayList<>()).add(write);
+            vessels
+                .computeIfAbsent(write.type(), k -> new ArrayList<>())
+                .add(write.vessel());
+        }
+        try {
+            Map<RequestType, Vessel[]> written = vesselRepository.groupWriteSql(
+                vessels
+            );
+            byType.forEach((type, writes) -> {
+                for (int i = 0; i < writes.size(); i++) {
+                    writes.get(i).written().complete(written.get(type)[i]);
+                }
+            });
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // One invalid vessel or a deadlock with another flusher rolled the whole group back;
+            // its callers write each row alone so only an invalid one fails
+            part.forEach(write -> write.written().completeExceptionally(WRITE_ALONE));
+        } catch (RuntimeException | Error e) {
+            part.forEach(write -> write.written().completeExceptionally(e));
+        }
+    }
+
+    private Vessel writeAlone(Vessel vessel, RequestType type) {
+        return type == RequestType.CREATE
+            ? vesselRepository.insertSql(vessel, type)
+            : vesselRepository.updateSql(vessel, type);
+    }
+}
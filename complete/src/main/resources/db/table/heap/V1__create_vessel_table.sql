@@ -0,0 +1,6 @@
+-- The vessel table as Hibernate's ddl-auto used to create it, so existing databases are left as they are
+CREATE TABLE IF NOT EXISTS vessel (
+    id UUID PRIMARY KEY,
+    type VARCHAR(255),
+    color VARCHAR(255)
+);
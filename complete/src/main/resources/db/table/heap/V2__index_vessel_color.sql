@@ -0,0 +1,4 @@
+-- GETBYCOLOR (color = :color AND id > :after ORDER BY id LIMIT :limit) reads a page from this index alone:
+-- the rows of a color are in id order and "type" is stored in the leaf entries.
+-- CONCURRENTLY keeps writes going while an existing table is indexed; Flyway runs it outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS vessel_color_id_idx ON vessel (color, id) INCLUDE (type);
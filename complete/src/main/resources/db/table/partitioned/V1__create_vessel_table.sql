@@ -0,0 +1,19 @@
+-- The vessel table hash partitioned by id into ${partitions} partitions, for fleets too large to vacuum
+-- and index as one table. GETBYID, UPDATE and DELETE touch a single partition; GETBYCOLOR merges
+-- the id-ordered index scans of all partitions.
+CREATE TABLE vessel (
+    id UUID PRIMARY KEY,
+    type VARCHAR(255),
+    color VARCHAR(255)
+) PARTITION BY HASH (id);
+
+DO $$
+BEGIN
+    FOR i IN 0..${partitions} - 1 LOOP
+        EXECUTE format(
+            'CREATE TABLE vessel_p%s PARTITION OF vessel FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+            i, ${partitions}, i
+        );
+    END LOOP;
+END
+$$;
@@ -0,0 +1,3 @@
+-- Same covering index as the heap layout, created on every partition.
+-- Partitioned tables cannot be indexed CONCURRENTLY; the table is new and empty at this point.
+CREATE INDEX vessel_color_id_idx ON vessel (color, id) INCLUDE (type);
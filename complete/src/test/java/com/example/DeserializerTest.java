@@ -0,0 +1,193 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the streaming RequestDTO and ResponseDTO deserializers.
+ */
+public class DeserializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testRequestRoundTrip() throws Exception {
+        Vessel vessel = new Vessel("Cargo", "Red");
+        String json = mapper.writeValueAsString(
+            new RequestDTO<>(RequestType.UPDATE, vessel)
+        );
+
+        RequestDTO<?> req = mapper.readValue(json, RequestDTO.class);
+
+        assertEquals(RequestType.UPDATE, req.getRequestType());
+        Vessel actual = (Vessel) req.getData();
+        assertEquals(vessel.getId(), actual.getId());
+        assertEquals("Cargo", actual.getType());
+        assertEquals("Red", actual.getColor());
+    }
+
+    @Test
+    void testRequestDataBeforeRequestType() throws Exception {
+        UUID id = UUID.randomUUID();
+        String json =
+            "{\"data\":[\"java.util.UUID\",\"" + id + "\"],\"requestType\":\"GETBYID\"}";
+
+        RequestDTO<?> req = mapper.readValue(json, RequestDTO.class);
+
+        assertEquals(RequestType.GETBYID, req.getRequestType());
+        assertEquals(id, req.getData());
+    }
+
+    @Test
+    void testRequestPagination() throws Exception {
+        String json =
+            "{\"requestType\":\"GETBYCOLOR\",\"data\":\"Blue\",\"pageSize\":5,\"pageToken\":\"abc\"}";
+
+        RequestDTO<?> req = mapper.readValue(json, RequestDTO.class);
+
+        assertEquals("Blue", req.getData());
+        assertEquals(5, req.getPageSize());
+        assertEquals("abc", req.getPageToken());
+    }
+
+    @Test
+    void testRequestWithoutRequestType() {
+        assertThrows(
+            MismatchedInputException.class,
+            () -> mapper.readValue("{\"data\":\"Blue\"}", RequestDTO.class)
+        );
+    }
+
+    @Test
+    void testRequestDataObjectIsRejected() {
+        UUID id = UUID.randomUUID();
+        // The fields of the object must not be read as those of the request
+        List<String> invalid = List.of(
+            "{\"requestType\":\"GETBYCOLOR\",\"data\":{\"requestType\":\"DELETE\",\"data\":\"" +
+            id +
+            "\"}}",
+            "{\"requestType\":\"GETBYID\",\"data\":{\"x\":1},\"pageSize\":5}",
+            "{\"data\":{\"x\":1},\"requestType\":\"GETBYID\"}",
+            "{\"requestType\":\"GETBYID\",\"data\":[\"java.util.UUID\",{\"x\":1}]}",
+            "{\"requestType\":\"GETBYCOLOR\",\"data\":[]}",
+            "{\"requestType\":\"CREATE\",\"data\":{\"type\":{\"color\":\"Red\"}}}"
+        );
+
+        for (String json : invalid) {
+            assertThrows(
+                JsonProcessingException.class,
+                () -> mapper.readValue(json, RequestDTO.class),
+                json
+            );
+        }
+    }
+
+    @Test
+    void testResponseVesselList() throws Exception {
+        Vessel vessel = new Vessel("Fishing", "Green");
+        ResponseDTO<List<Vessel>> res = new ResponseDTO<>(
+            "VESSEL'S FOUND",
+            new ArrayList<>(List.of(vessel))
+        );
+        res.setNextPageToken("next");
+        String json = mapper.writeValueAsString(res);
+
+        ResponseDTO<?> actual = mapper.readValue(json, ResponseDTO.class);
+
+        assertEquals("VESSEL'S FOUND", actual.getMessage());
+        assertEquals("next", actual.getNextPageToken());
+        List<?> vessels = (List<?>) actual.getData();
+        assertEquals(1, vessels.size());
+        assertEquals(vessel.getId(), ((Vessel) vessels.get(0)).getId());
+    }
+
+    @Test
+    void testResponseDataBeforeMessage() throws Exception {
+        UUID id = UUID.randomUUID();
+        String json =
+            "{\"data\":{\"@class\":\"com.example.springboot.CustomData.Vessel\",\"id\":\"" +
+            id +
+            "\",\"type\":\"Cargo\",\"color\":\"Red\"},\"message\":\"VESSEL FOUND\"}";
+
+        ResponseDTO<?> actual = mapper.readValue(json, ResponseDTO.class);
+
+        assertEquals(id, ((Vessel) actual.getData()).getId());
+        assertNull(actual.getNextPageToken());
+    }
+
+    @Test
+    void testResponseImportSummary() throws Exception {
+        String json = mapper.writeValueAsString(
+            new ResponseDTO<>("VESSELS IMPORTED", new ImportSummary(5, 3))
+        );
+
+        ResponseDTO<?> actual = mapper.readValue(json, ResponseDTO.class);
+
+        ImportSummary summary = (ImportSummary) actual.getData();
+        assertEquals(5, summary.rows());
+        assertEquals(3, summary.imported());
+        assertEquals(2, summary.skipped());
+    }
+
+    @Test
+    void testCompactWireFormat() throws Exception {
+        ObjectMapper compact = WireFormat.compact(new ObjectMapper());
+        Vessel vessel = new Vessel("Tanker", "Black");
+        String json = compact.writeValueAsString(
+            new ResponseDTO<>("VESSEL'S FOUND", new ArrayList<>(List.of(vessel)))
+        );
+
+        assertFalse(json.contains("@class"));
+        assertFalse(json.contains("java.util.ArrayList"));
+        ResponseDTO<?> actual = compact.readValue(json, ResponseDTO.class);
+        List<?> vessels = (List<?>) actual.getData();
+        assertEquals(vessel.getId(), ((Vessel) vessels.get(0)).getId());
+
+        String reqJson = compact.writeValueAsString(
+            new RequestDTO<>(RequestType.DELETE, vessel.getId())
+        );
+        assertEquals(
+            "{\"type\":\"DELETE\",\"data\":\"" + vessel.getId() + "\"}",
+            reqJson
+        );
+        assertEquals(
+            vessel.getId(),
+            compact.readValue(reqJson, RequestDTO.class).getData()
+        );
+    }
+
+    @Test
+    void testCborWireFormat() throws Exception {
+        ObjectMapper cbor = WireFormat.compact(new CBORMapper());
+        Vessel vessel = new Vessel("Tanker", "Black");
+
+        byte[] req = cbor.writeValueAsBytes(
+            new RequestDTO<>(RequestType.GETBYID, vessel.getId())
+        );
+        assertEquals(vessel.getId(), cbor.readValue(req, RequestDTO.class).getData());
+
+        byte[] res = cbor.writeValueAsBytes(
+            new ResponseDTO<>("ACTION COMPLETED", vessel)
+        );
+        Vessel actual = (Vessel) cbor.readValue(res, ResponseDTO.class).getData();
+        assertEquals(vessel.getId(), actual.getId());
+        assertEquals("Black", actual.getColor());
+    }
+}
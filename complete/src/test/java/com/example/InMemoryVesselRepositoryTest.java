@@ -0,0 +1,291 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.PageToken;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselCopyFormat;
+import com.example.springboot.InMemoryVesselRepository;
+import com.example.springboot.VesselMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class contains unit tests for the in-memory vessel engine and its journal.
+ */
+public class InMemoryVesselRepositoryTest {
+
+    private final VesselMetrics metrics = new VesselMetrics(
+        new SimpleMeterRegistry()
+    );
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testColorPagesFollowWrites() throws Exception {
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            "",
+            false
+        );
+        List<UUID> red = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Vessel vessel = repository.insertSql(
+                new Vessel(UUID.randomUUID(), "Cargo", "Red"),
+                RequestType.CREATE
+            );
+            red.add(vessel.getId());
+        }
+        red.sort(PageToken.ID_ORDER);
+
+        // Pages are in id order and start after the given id
+        assertEquals(red.subList(0, 3), ids(repository, "Red", PageToken.FIRST_PAGE, 3));
+        assertEquals(red.subList(3, 5), ids(repository, "Red", red.get(2), 3));
+
+        // Repainting a vessel moves it to the other color
+        repository.updateSql(
+            new Vessel(red.get(0), "Cargo", "Blue"),
+            RequestType.UPDATE
+        );
+        assertEquals(red.subList(1, 5), ids(repository, "Red", PageToken.FIRST_PAGE, 10));
+        assertEquals(List.of(red.get(0)), ids(repository, "Blue", PageToken.FIRST_PAGE, 10));
+
+        // DELETE returns the deleted row, a second one finds nothing
+        assertEquals(
+            "Blue",
+            repository
+                .updateSql(new Vessel(red.get(0), "", ""), RequestType.DELETE)
+                .getColor()
+        );
+        assertNull(
+            repository.updateSql(new Vessel(red.get(0), "", ""), RequestType.DELETE)
+        );
+        assertNull(
+            repository.getVesselByQuery(
+                Map.of("id", red.get(0)),
+                RequestType.GETBYID
+            )
+        );
+        assertEquals(List.of(), ids(repository, "Blue", PageToken.FIRST_PAGE, 10));
+    }
+
+    @Test
+    void testBatchCounts() throws Exception {
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            "",
+            false
+        );
+        Vessel vessel = new Vessel(UUID.randomUUID(), "Cargo", "Red");
+        Vessel missing = new Vessel(UUID.randomUUID(), "Cargo", "Red");
+
+        // A second insert of the same id and writes to missing ids change nothing
+        assertArrayEquals(
+            new int[] { 1, 0 },
+            repository.batchUpdateSql(List.of(vessel, vessel), RequestType.CREATE)
+        );
+        assertArrayEquals(
+            new int[] { 1, 0 },
+            repository.batchUpdateSql(List.of(vessel, missing), RequestType.UPDATE)
+        );
+        assertArrayEquals(
+            new int[] { 0, 1 },
+            repository.batchUpdateSql(List.of(missing, vessel), RequestType.DELETE)
+        );
+        assertEquals(0, repository.size());
+    }
+
+    @Test
+    void testImportExport() throws Exception {
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            "",
+            false
+        );
+        Vessel existing = repository.insertSql(
+            new Vessel(UUID.randomUUID(), "Cargo", "Red"),
+            RequestType.CREATE
+        );
+        String csv =
+            "id,type,color\n" +
+            existing.getId() + ",Tanker,Blue\n" +
+            ",Fishing,Red\n" +
+            ",Tanker,Blue\n";
+        long[] progress = { 0 };
+
+        // The existing id is skipped, as a CREATE of it would be
+        ImportSummary summary = repository.importVessels(
+            VesselCopyFormat.CSV.read(new BufferedReader(new StringReader(csv))),
+            rows -> progress[0] += rows
+        );
+        assertEquals(3, summary.rows());
+        assertEquals(2, summary.imported());
+        assertEquals(3, progress[0]);
+        assertEquals(3, repository.size());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = repository.exportVessels(
+            "Red",
+            VesselCopyFormat.CSV,
+            out,
+            n -> {}
+        );
+        assertEquals(2, rows);
+        List<Vessel> exported = new ArrayList<>();
+        VesselCopyFormat.CSV
+            .read(new BufferedReader(new StringReader(out.toString(StandardCharsets.UTF_8))))
+            .forEachRemaining(exported::add);
+        assertEquals(2, exported.size());
+        assertTrue(exported.stream().allMatch(vessel -> "Red".equals(vessel.getColor())));
+    }
+
+    @Test
+    void testJournalReplay() throws Exception {
+        Path journal = dir.resolve("vessel.journal");
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            journal.toString(),
+            false
+        );
+        Vessel kept = repository.insertSql(
+            new Vessel(UUID.randomUUID(), "Cargo", "Red"),
+            RequestType.CREATE
+        );
+        Vessel deleted = repository.insertSql(
+            new Vessel(UUID.randomUUID(), "Fishing", "Blue"),
+            RequestType.CREATE
+        );
+        repository.updateSql(
+            new Vessel(kept.getId(), "Tanker", "Green"),
+            RequestType.UPDATE
+        );
+        repository.updateSql(
+            new Vessel(deleted.getId(), "", ""),
+            RequestType.DELETE
+        );
+        repository.close();
+
+        // A record cut short by a crash is ignored
+        Files.write(journal, new byte[] { 'P', 1, 2 }, StandardOpenOption.APPEND);
+
+        InMemoryVesselRepository restored = new InMemoryVesselRepository(
+            metrics,
+            journal.toString(),
+            false
+        );
+        assertEquals(1, restored.size());
+        Vessel vessel = restored
+            .getVesselByQuery(Map.of("id", kept.getId()), RequestType.GETBYID)
+            .get(0);
+        assertEquals("Tanker", vessel.getType());
+        assertEquals(List.of(kept.getId()), ids(restored, "Green", PageToken.FIRST_PAGE, 10));
+        restored.close();
+    }
+
+    @Test
+    void testLookupsReturnCopies() throws Exception {
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            "",
+            false
+        );
+        UUID id = repository
+            .insertSql(new Vessel(UUID.randomUUID(), "Cargo", "Red"), RequestType.CREATE)
+            .getId();
+
+        repository
+            .getVesselByQuery(Map.of("id", id), RequestType.GETBYID)
+            .get(0)
+            .setType("Tanker");
+        repository
+            .getVesselByQuery(
+                Map.of("color", "Red", "after", PageToken.FIRST_PAGE, "limit", 10),
+                RequestType.GETBYCOLOR
+            )
+            .get(0)
+            .setColor("Blue");
+        repository.streamVesselByQuery(
+            Map.of("color", "Red", "after", PageToken.FIRST_PAGE),
+            RequestType.GETBYCOLOR,
+            vessel -> vessel.setId(UUID.randomUUID())
+        );
+
+        Vessel stored = repository
+            .getVesselByQuery(Map.of("id", id), RequestType.GETBYID)
+            .get(0);
+        assertEquals("Cargo", stored.getType());
+        assertEquals("Red", stored.getColor());
+        assertEquals(List.of(id), ids(repository, "Red", PageToken.FIRST_PAGE, 10));
+    }
+
+    @Test
+    void testConcurrentWritesReplay() throws Exception {
+        Path journal = dir.resolve("vessel.journal");
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            journal.toString(),
+            false
+        );
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Vessel>> writes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID id = UUID.randomUUID();
+            writes.add(executor.submit(() -> {
+                repository.insertSql(new Vessel(id, "Cargo", "Red"), RequestType.CREATE);
+                return repository.updateSql(
+                    new Vessel(id, "Tanker", "Blue"),
+                    RequestType.UPDATE
+                );
+            }));
+        }
+        for (Future<Vessel> write : writes) write.get();
+        executor.shutdown();
+        repository.close();
+
+        // Every id's records were written in the order its writes were applied
+        InMemoryVesselRepository restored = new InMemoryVesselRepository(
+            metrics,
+            journal.toString(),
+            false
+        );
+        assertEquals(200, restored.size());
+        assertEquals(200, ids(restored, "Blue", PageToken.FIRST_PAGE, 1000).size());
+        assertEquals(List.of(), ids(restored, "Red", PageToken.FIRST_PAGE, 1000));
+        restored.close();
+    }
+
+    // The ids of one GETBYCOLOR page
+    private static List<UUID> ids(
+        InMemoryVesselRepository repository,
+        String color,
+        UUID after,
+        int limit
+    ) {
+        List<Vessel> page = repository.getVesselByQuery(
+            Map.of("color", color, "after", after, "limit", limit),
+            RequestType.GETBYCOLOR
+        );
+        return page == null ? List.of() : page.stream().map(Vessel::getId).toList();
+    }
+}
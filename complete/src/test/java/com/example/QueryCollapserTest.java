@@ -0,0 +1,145 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.QueryCollapser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * This class contains unit tests for the single-flight layer of lookups.
+ */
+public class QueryCollapserTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryCollapser collapser = new QueryCollapser(true);
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+        CALLERS
+    );
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testIdenticalLookupsShareOneCall() throws Exception {
+        collapser.bindTo(registry);
+        Map<String, Object> params = Map.of("color", "Red");
+        List<String> result = List.of("shared");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<List<String>>> lookups = submit(() ->
+            collapser.execute(RequestType.GETBYCOLOR, params, 0, () -> {
+                calls.incrementAndGet();
+                await(release);
+                return result;
+            })
+        );
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<List<String>> lookup : lookups) {
+            assertSame(result, lookup.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(CALLERS - 1, collapsed());
+
+        // Nothing is kept once the call has finished
+        collapser.execute(RequestType.GETBYCOLOR, params, 0, calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testLookupsAfterAWriteDoNotJoin() throws Exception {
+        collapser.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> before = executor.submit(() ->
+            collapser.execute(RequestType.GETBYID, Map.of("id", 1), 0, () -> {
+                await(release);
+                return 0;
+            })
+        );
+
+        // A newer epoch, another request type or other parameters run their own call
+        assertEquals(1, collapser.execute(RequestType.GETBYID, Map.of("id", 1), 1, () -> 1));
+        assertEquals(2, collapser.execute(RequestType.GETBYCOLOR, Map.of("id", 1), 0, () -> 2));
+        assertEquals(3, collapser.execute(RequestType.GETBYID, Map.of("id", 2), 0, () -> 3));
+        release.countDown();
+        assertEquals(0, before.get(5, TimeUnit.SECONDS));
+        assertEquals(0, collapsed());
+    }
+
+    @Test
+    void testFailureReachesEveryCaller() throws Exception {
+        collapser.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> lookups = submit(() ->
+            collapser.execute(RequestType.GETBYID, Map.of("id", 1), 0, () -> {
+                await(release);
+                throw new QueryTimeoutException("canceled");
+            })
+        );
+        awaitCollapsed(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> lookup : lookups) {
+            Exception e = assertThrows(Exception.class, () ->
+                lookup.get(5, TimeUnit.SECONDS)
+            );
+            assertEquals(QueryTimeoutException.class, e.getCause().getClass());
+        }
+    }
+
+    private <T> List<Future<T>> submit(Supplier<T> lookup) {
+        List<Future<T>> lookups = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            lookups.add(executor.submit(lookup::get));
+        }
+        return lookups;
+    }
+
+    // Waits until the given number of callers joined the running call
+    private void awaitCollapsed(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (collapsed() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private double collapsed() {
+        return registry
+            .find("vessel.query.collapsed")
+            .functionCounters()
+            .stream()
+            .mapToDouble(counter -> counter.count())
+            .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
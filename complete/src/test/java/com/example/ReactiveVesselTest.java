@@ -0,0 +1,197 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.WireFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * This class contains integration tests for the Vessel API on the reactive stack.
+ * It tests that vessels with null fields are written and queried through R2DBC, and that
+ * streams and failed writes are answered as on the MVC stack.
+ */
+@SpringBootTest(
+    classes = com.example.springboot.Application.class, // The main application class to initialize the Spring context.
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT // Use a random port for each test to avoid conflicts.
+)
+@ActiveProfiles("reactive")
+@Testcontainers
+public class ReactiveVesselTest {
+
+    // PostgreSQL container instance
+    @Container
+    private static PostgreSQLContainer<?> postgresContainer =
+        new PostgreSQLContainer<>(DockerImageName.parse("postgres:14.5"))
+            .withDatabaseName("database")
+            .withUsername("my_user")
+            .withPassword("my_password");
+
+    // The body type of every /api response, whose data is a Vessel, a list of them or a message
+    private static final ParameterizedTypeReference<ResponseDTO<?>> RESPONSE =
+        new ParameterizedTypeReference<>() {};
+
+    // The WebTestClient bound to the server started on the random port
+    @Autowired
+    private WebTestClient webTestClient;
+
+    // Dynamically set Spring Boot properties using the container's values; Flyway creates the table
+    @DynamicPropertySource
+    static void setDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add(
+            "spring.datasource.username",
+            postgresContainer::getUsername
+        );
+        registry.add(
+            "spring.datasource.password",
+            postgresContainer::getPassword
+        );
+        registry.add(
+            "spring.r2dbc.url",
+            () ->
+                "r2dbc:postgresql://" +
+                postgresContainer.getHost() +
+                ":" +
+                postgresContainer.getFirstMappedPort() +
+                "/" +
+                postgresContainer.getDatabaseName()
+        );
+    }
+
+    /**
+     * Test for null type and color values.
+     * This test creates a vessel without a type, repaints it without a color and looks up the
+     * missing color, all of which bind a NULL parameter.
+     */
+    @Test
+    void testNullFields() {
+        ResponseDTO<?> created = exchange(
+            new RequestDTO<>(RequestType.CREATE, new Vessel(null, "Red")),
+            HttpStatus.CREATED
+        );
+        assertEquals("ACTION COMPLETED", created.getMessage());
+        Vessel vessel = (Vessel) created.getData();
+        assertNull(vessel.getType());
+        assertEquals("Red", vessel.getColor());
+
+        ResponseDTO<?> updated = webTestClient
+            .put()
+            .uri("/api")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(
+                new RequestDTO<>(
+                    RequestType.UPDATE,
+                    new Vessel(vessel.getId(), "Cargo", null)
+                )
+            )
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(RESPONSE)
+            .returnResult()
+            .getResponseBody();
+        assertEquals("ACTION COMPLETED", updated.getMessage());
+        assertNull(((Vessel) updated.getData()).getColor());
+
+        // color = NULL matches no row, as on the MVC stack
+        ResponseDTO<?> found = exchange(
+            new RequestDTO<>(RequestType.GETBYCOLOR, null),
+            HttpStatus.OK
+        );
+        assertEquals("NO VESSEL FOUND", found.getMessage());
+    }
+
+    /**
+     * Test for NDJSON streams.
+     * This test streams a color and expects one vessel per line in the compact wire format.
+     */
+    @Test
+    void testNdjsonLines() {
+        exchange(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Teal")),
+            HttpStatus.CREATED
+        );
+        exchange(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Tanker", "Teal")),
+            HttpStatus.CREATED
+        );
+
+        String body = webTestClient
+            .post()
+            .uri("/api")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(new RequestDTO<>(RequestType.GETBYCOLOR, "Teal"))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertFalse(line.contains("@class"), line);
+            assertEquals("Teal", ((Vessel) read(line)).getColor());
+        }
+    }
+
+    /**
+     * Test for a CREATE the database rejects.
+     * This test creates a vessel whose type is longer than its column and expects the
+     * "FAILED ACTION" message rather than a bare server error.
+     */
+    @Test
+    void testCreateFailure() {
+        ResponseDTO<?> failed = exchange(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("C".repeat(256), "Red")),
+            HttpStatus.INTERNAL_SERVER_ERROR
+        );
+        assertEquals("FAILED ACTION", failed.getMessage());
+    }
+
+    // Reads one compact NDJSON line as a Vessel
+    private static Object read(String line) {
+        try {
+            return WireFormat.compact(new ObjectMapper()).readValue(line, Vessel.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseDTO<?> exchange(RequestDTO<?> req, HttpStatus status) {
+        return webTestClient
+            .post()
+            .uri("/api")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(req)
+            .exchange()
+            .expectStatus()
+            .isEqualTo(status)
+            .expectBody(RESPONSE)
+            .returnResult()
+            .getResponseBody();
+    }
+}
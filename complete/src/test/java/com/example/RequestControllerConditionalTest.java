@@ -0,0 +1,122 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.InMemoryVesselRepository;
+import com.example.springboot.QueryCollapser;
+import com.example.springboot.RequestController;
+import com.example.springboot.VesselCache;
+import com.example.springboot.VesselMetrics;
+import com.example.springboot.WriteBatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * This class contains unit tests for the conditional lookups of the controller.
+ */
+public class RequestControllerConditionalTest {
+
+    private final VesselMetrics metrics = new VesselMetrics(new SimpleMeterRegistry());
+
+    // Counts the lookups that read rows from the repository
+    private int loads;
+
+    // Counts the entity tags computed by the repository
+    private int tags;
+
+    @Test
+    void testTagIsCheckedAgainstTheRows() throws Exception {
+        InMemoryVesselRepository repository = repository();
+        // The cache is off, so every lookup reaches the repository
+        RequestController controller = controller(repository, false);
+        Vessel vessel = repository.insertSql(
+            new Vessel(UUID.randomUUID(), "Cargo", "Red"),
+            RequestType.CREATE
+        );
+        RequestDTO<UUID> req = new RequestDTO<>(RequestType.GETBYID, vessel.getId());
+        String etag = controller.handelPost(req, null).getHeaders().getETag();
+        assertEquals(1, loads);
+        assertEquals(0, tags);
+
+        ResponseEntity<?> notModified = controller.handelPost(req, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(etag, notModified.getHeaders().getETag());
+        assertEquals(1, loads);
+        assertEquals(1, tags);
+
+        // A write to another vessel leaves the rows of the lookup as they were
+        controller.handelPost(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Tanker", "Blue")),
+            null
+        );
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.handelPost(req, etag).getStatusCode());
+        assertEquals(1, loads);
+
+        // A write the controller never saw, as another instance or a database client makes
+        repository.updateSql(new Vessel(vessel.getId(), "Tanker", "Red"), RequestType.UPDATE);
+        ResponseEntity<ResponseDTO<?>> modified = controller.handelPost(req, etag);
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertEquals("Tanker", ((Vessel) modified.getBody().getData()).getType());
+        assertEquals(2, loads);
+        assertEquals(3, tags);
+    }
+
+    @Test
+    void testCachedLookupIsCheckedWithoutTheRepository() throws Exception {
+        InMemoryVesselRepository repository = repository();
+        RequestController controller = controller(repository, true);
+        repository.insertSql(new Vessel(UUID.randomUUID(), "Cargo", "Red"), RequestType.CREATE);
+        RequestDTO<String> req = new RequestDTO<>(RequestType.GETBYCOLOR, "Red");
+        String etag = controller.handelPost(req, null).getHeaders().getETag();
+        assertEquals(1, loads);
+
+        ResponseEntity<?> notModified = controller.handelPost(req, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(etag, notModified.getHeaders().getETag());
+        assertEquals(1, loads);
+        assertEquals(0, tags);
+    }
+
+    // A repository counting its lookups and entity tags
+    private InMemoryVesselRepository repository() throws IOException {
+        return new InMemoryVesselRepository(metrics, "", false) {
+            @Override
+            public List<Vessel> getVesselByQuery(Map<String, Object> params, RequestType type) {
+                loads++;
+                return super.getVesselByQuery(params, type);
+            }
+
+            @Override
+            public String getResponseETag(Map<String, Object> params, RequestType type) {
+                tags++;
+                return super.getResponseETag(params, type);
+            }
+        };
+    }
+
+    private RequestController controller(InMemoryVesselRepository repository, boolean cache) {
+        return new RequestController(
+            repository,
+            new VesselCache(cache, 100, Duration.ofMinutes(1)),
+            new QueryCollapser(false),
+            new WriteBatcher(repository, metrics, false, 100, Duration.ZERO, 1),
+            metrics,
+            new ObjectMapper(),
+            500,
+            100,
+            1000
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.InMemoryVesselRepository;
+import com.example.springboot.QueryCollapser;
+import com.example.springboot.RequestController;
+import com.example.springboot.VesselCache;
+import com.example.springboot.VesselMetrics;
+import com.example.springboot.WriteBatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the streamed GETBYCOLOR responses of the controller.
+ */
+public class RequestControllerStreamTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testStreamedJsonEqualsResponseDTO() throws Exception {
+        VesselMetrics metrics = new VesselMetrics(new SimpleMeterRegistry());
+        InMemoryVesselRepository repository = new InMemoryVesselRepository(
+            metrics,
+            "",
+            false
+        );
+        for (int i = 0; i < 5; i++) {
+            repository.insertSql(
+                new Vessel(UUID.randomUUID(), i == 0 ? null : "Cargo", "Red"),
+                RequestType.CREATE
+            );
+        }
+        RequestController controller = new RequestController(
+            repository,
+            new VesselCache(false, 100, Duration.ofMinutes(1)),
+            new QueryCollapser(false),
+            new WriteBatcher(repository, metrics, false, 100, Duration.ZERO, 1),
+            metrics,
+            objectMapper,
+            500,
+            100,
+            1000
+        );
+        RequestDTO<String> req = new RequestDTO<>(RequestType.GETBYCOLOR, "Red", 10, null);
+
+        byte[] page = objectMapper.writeValueAsBytes(
+            controller.handelPost(req, null).getBody()
+        );
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        controller.handelStreamJson(req).getBody().writeTo(streamed);
+
+        assertEquals(
+            new String(page, "UTF-8"),
+            new String(streamed.toByteArray(), "UTF-8")
+        );
+    }
+}
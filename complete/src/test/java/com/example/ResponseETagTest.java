@@ -0,0 +1,122 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.ResponseETag;
+import com.example.springboot.CustomData.Vessel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the entity tags of conditional lookups.
+ */
+public class ResponseETagTest {
+
+    private static final UUID ID = UUID.fromString(
+        "32c145f4-4898-400e-af9c-f50f4aeab512"
+    );
+
+    private static final Map<String, Object> RED = Map.of(
+        "color", "Red",
+        "after", new UUID(0, 0),
+        "limit", 101
+    );
+
+    @Test
+    void testTagFollowsTheRows() {
+        String tag = tag(new Vessel(ID, "Cargo", "Red"));
+
+        assertTrue(tag.startsWith("W/\""));
+        // Equal rows, other instances
+        assertEquals(tag, tag(new Vessel(ID, "Cargo", "Red")));
+        assertNotEquals(tag, tag(new Vessel(ID, "Tanker", "Red")));
+        assertNotEquals(tag, tag(new Vessel(UUID.randomUUID(), "Cargo", "Red")));
+        // Field boundaries and null are part of the rows
+        assertNotEquals(tag, tag(new Vessel(ID, "CargoR", "ed")));
+        assertNotEquals(tag(new Vessel(ID, null, "Red")), tag(new Vessel(ID, "", "Red")));
+        // No rows, however the lookup reports them
+        assertEquals(
+            ResponseETag.of(RequestType.GETBYCOLOR, RED, null),
+            ResponseETag.of(RequestType.GETBYCOLOR, RED, List.of())
+        );
+
+        // The same rows for another lookup, or another page size they would be cut to
+        List<Vessel> rows = List.of(new Vessel(ID, "Cargo", "Red"));
+        assertNotEquals(tag, ResponseETag.of(RequestType.GETBYID, Map.of("id", ID), rows));
+        assertNotEquals(
+            tag,
+            ResponseETag.of(
+                RequestType.GETBYCOLOR,
+                Map.of("color", "Red", "after", new UUID(0, 0), "limit", 1),
+                rows
+            )
+        );
+    }
+
+    @Test
+    void testDigestOfTheRows() throws Exception {
+        // The text the digest is taken of, which the SQL of the tag writes the same way
+        Vessel vessel = new Vessel(ID, "Cargo", "Rød");
+        assertEquals(
+            ResponseETag.tag(md5("GETBYID|id=36:" + ID + "|" + ID + ",5:Cargo,4:Rød;")),
+            ResponseETag.of(RequestType.GETBYID, Map.of("id", ID), List.of(vessel))
+        );
+        assertEquals(
+            ResponseETag.tag(md5("GETBYID|id=36:" + ID + "|" + ID + ",-,-;")),
+            ResponseETag.of(
+                RequestType.GETBYID,
+                Map.of("id", ID),
+                List.of(new Vessel(ID, null, null))
+            )
+        );
+        assertEquals(
+            ResponseETag.tag(md5("GETBYID|id=36:" + ID + "|")),
+            ResponseETag.of(RequestType.GETBYID, Map.of("id", ID), null)
+        );
+        String sql = ResponseETag.sql(RequestType.GETBYID);
+        assertTrue(sql.contains(":" + ResponseETag.QUERY_PARAM));
+    }
+
+    @Test
+    void testIfNoneMatch() {
+        String tag = tag(new Vessel(ID, "Cargo", "Red"));
+        String strong = tag.substring(2);
+
+        assertTrue(ResponseETag.matches(tag, tag, true));
+        assertTrue(ResponseETag.matches(strong, tag, true));
+        assertTrue(ResponseETag.matches("\"other\", " + tag, tag, true));
+        assertFalse(ResponseETag.matches(null, tag, true));
+        assertFalse(ResponseETag.matches("W/\"other\"", tag, true));
+
+        // "*" matches any found vessel, but not the absence of one
+        String none = ResponseETag.of(RequestType.GETBYCOLOR, RED, null);
+        assertTrue(ResponseETag.matches("*", tag, true));
+        assertFalse(ResponseETag.matches("*", none, false));
+        assertTrue(ResponseETag.matches(none, none, false));
+
+        // Only entity tags can be checked before it is known whether a vessel is found
+        assertTrue(ResponseETag.hasTags(tag));
+        assertTrue(ResponseETag.hasTags("*, " + tag));
+        assertFalse(ResponseETag.hasTags("*"));
+        assertFalse(ResponseETag.hasTags(null));
+    }
+
+    // The tag of the RED lookup reading one row
+    private static String tag(Vessel vessel) {
+        return ResponseETag.of(RequestType.GETBYCOLOR, RED, List.of(vessel));
+    }
+
+    private static String md5(String text) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
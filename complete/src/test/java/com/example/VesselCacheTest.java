@@ -0,0 +1,110 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.example.springboot.CustomData.PageToken;
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.VesselCache;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the read-through vessel cache and its write invalidation.
+ */
+public class VesselCacheTest {
+
+    private final Vessel red = new Vessel(UUID.randomUUID(), "Cargo", "Red");
+    private final Vessel blue = new Vessel(UUID.randomUUID(), "Fishing", "Blue");
+
+    @Test
+    void testColorSetFollowsWrites() {
+        VesselCache cache = new VesselCache(true, 100, Duration.ofMinutes(1));
+        cache.putColor("Red", List.of(red), cache.epoch());
+        cache.putColor("Blue", List.of(blue), cache.epoch());
+
+        // Repaint the red vessel blue
+        cache.onWrite(
+            RequestType.UPDATE,
+            new Vessel(red.getId(), "Cargo", "Blue")
+        );
+        assertEquals(0, cache.getByColor("Red").size());
+        assertEquals(2, cache.getByColor("Blue").size());
+
+        cache.onWrite(RequestType.DELETE, new Vessel(blue.getId(), "", ""));
+        assertNull(cache.get(blue.getId()));
+        assertEquals(1, cache.getByColor("Blue").size());
+
+        Vessel created = new Vessel("Tanker", "Red");
+        cache.onWrite(RequestType.CREATE, created);
+        assertEquals(created.getId(), cache.getByColor("Red").get(0).getId());
+    }
+
+    @Test
+    void testStaleLoadIsDropped() {
+        VesselCache cache = new VesselCache(true, 100, Duration.ofMinutes(1));
+        long epoch = cache.epoch();
+
+        // A write lands while the lookup is still reading the database
+        cache.onWrite(RequestType.DELETE, new Vessel(red.getId(), "", ""));
+        cache.put(red, epoch);
+
+        assertNull(cache.get(red.getId()));
+    }
+
+    @Test
+    void testColorPages() {
+        VesselCache cache = new VesselCache(true, 100, Duration.ofMinutes(1));
+        Vessel second = new Vessel(UUID.randomUUID(), "Tanker", "Red");
+        cache.putColor("Red", List.of(red, second), cache.epoch());
+
+        List<UUID> ids = new ArrayList<>(List.of(red.getId(), second.getId()));
+        ids.sort(PageToken.ID_ORDER);
+        assertEquals(
+            ids.get(0),
+            cache.getColorPage("Red", PageToken.FIRST_PAGE, 1).get(0).getId()
+        );
+        assertEquals(
+            ids.get(1),
+            cache.getColorPage("Red", ids.get(0), 1).get(0).getId()
+        );
+        assertEquals(0, cache.getColorPage("Red", ids.get(1), 1).size());
+        assertNull(cache.getColorPage("Blue", PageToken.FIRST_PAGE, 1));
+
+        // Vessels of a loaded color are found by id as well
+        assertEquals("Tanker", cache.get(second.getId()).getType());
+    }
+
+    @Test
+    void testIdIndexFollowsColors() {
+        VesselCache cache = new VesselCache(true, 2, Duration.ofMinutes(1));
+        cache.putColor("Red", List.of(red), cache.epoch());
+        assertEquals("Red", cache.get(red.getId()).getColor());
+
+        // Reloaded under another color, the vessel leaves its old color entry
+        Vessel repainted = new Vessel(red.getId(), "Cargo", "Blue");
+        cache.putColor("Blue", List.of(repainted, blue), cache.epoch());
+        assertEquals("Blue", cache.get(red.getId()).getColor());
+        assertEquals(0, cache.getByColor("Red").size());
+        assertEquals(2, cache.size());
+
+        // Evicting a color drops its vessels from the id lookup as well
+        cache.put(new Vessel(UUID.randomUUID(), "Tanker", "Green"), cache.epoch());
+        assertNull(cache.get(blue.getId()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testEvictionDropsIncompleteColor() {
+        VesselCache cache = new VesselCache(true, 1, Duration.ofMinutes(1));
+        cache.putColor("Red", List.of(red), cache.epoch());
+        cache.put(blue, cache.epoch());
+
+        assertNull(cache.getByColor("Red"));
+        assertEquals(blue.getId(), cache.get(blue.getId()).getId());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.PageToken;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselColumns;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the compact column store of vessels.
+ */
+public class VesselColumnsTest {
+
+    @Test
+    void testKeepsIdOrder() {
+        List<Vessel> vessels = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            vessels.add(new Vessel(UUID.randomUUID(), "Cargo", "Red"));
+        }
+        // Ids with the sign bit set sort after the others, as in PostgreSQL
+        vessels.add(new Vessel(new UUID(-1L, -1L), "Tanker", null));
+        VesselColumns columns = VesselColumns.of(vessels);
+
+        List<UUID> ids = new ArrayList<>(vessels.stream().map(Vessel::getId).toList());
+        ids.sort(PageToken.ID_ORDER);
+        assertEquals(ids, columns.toList().stream().map(Vessel::getId).toList());
+
+        List<Vessel> page = columns.page(ids.get(9), 10);
+        assertEquals(ids.subList(10, 20), page.stream().map(Vessel::getId).toList());
+        assertEquals(0, columns.page(ids.get(ids.size() - 1), 10).size());
+
+        Vessel last = columns.get(new UUID(-1L, -1L));
+        assertEquals("Tanker", last.getType());
+        assertNull(last.getColor());
+    }
+
+    @Test
+    void testPutAndRemove() {
+        VesselColumns columns = new VesselColumns(1);
+        UUID id = UUID.randomUUID();
+
+        assertTrue(columns.put(new Vessel(id, "Cargo", "Red")));
+        assertFalse(columns.put(new Vessel(id, "Fishing", "Blue")));
+        assertEquals(1, columns.size());
+        assertEquals("Fishing", columns.get(id).getType());
+        assertEquals("Blue", columns.get(id).getColor());
+
+        assertTrue(columns.remove(id));
+        assertFalse(columns.remove(id));
+        assertNull(columns.get(id));
+        assertEquals(0, columns.size());
+    }
+}
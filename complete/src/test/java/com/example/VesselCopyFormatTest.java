@@ -0,0 +1,145 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.CustomData.VesselCopyFormat;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the record formats of the bulk import and export endpoints.
+ */
+public class VesselCopyFormatTest {
+
+    @Test
+    void testCsvRecords() {
+        UUID id = UUID.randomUUID();
+        List<Vessel> vessels = read(
+            VesselCopyFormat.CSV,
+            "id,type,color\n" +
+            id + ",Cargo,Red\n" +
+            "\n" +
+            // Quoted fields may hold commas, quotes and line breaks; an unquoted empty field is null
+            ",\"Car\"\"go, \nbulk\",\n" +
+            id + ",\"\",Blue\n"
+        );
+
+        assertEquals(3, vessels.size());
+        assertEquals(id, vessels.get(0).getId());
+        assertEquals("Red", vessels.get(0).getColor());
+        assertNotNull(vessels.get(1).getId());
+        assertEquals("Car\"go, \nbulk", vessels.get(1).getType());
+        assertNull(vessels.get(1).getColor());
+        assertEquals("", vessels.get(2).getType());
+    }
+
+    @Test
+    void testCsvRoundTrip() {
+        List<Vessel> vessels = List.of(
+            new Vessel(UUID.randomUUID(), "Car\"go,\n", null),
+            new Vessel(UUID.randomUUID(), "", "Red")
+        );
+        StringBuilder csv = new StringBuilder();
+        for (Vessel vessel : vessels) VesselCopyFormat.CSV.write(vessel, csv);
+
+        List<Vessel> actual = read(VesselCopyFormat.CSV, csv.toString());
+
+        for (int i = 0; i < vessels.size(); i++) {
+            assertEquals(vessels.get(i).getId(), actual.get(i).getId());
+            assertEquals(vessels.get(i).getType(), actual.get(i).getType());
+            assertEquals(vessels.get(i).getColor(), actual.get(i).getColor());
+        }
+    }
+
+    @Test
+    void testCsvQuotesLikeCopy() {
+        UUID id = UUID.randomUUID();
+        StringBuilder csv = new StringBuilder();
+        VesselCopyFormat.CSV.write(new Vessel(id, "Cargo", "Red"), csv);
+        VesselCopyFormat.CSV.write(new Vessel(id, "", null), csv);
+        VesselCopyFormat.CSV.write(new Vessel(id, "Car\"go", "Red,\nBlue"), csv);
+        VesselCopyFormat.CSV.write(new Vessel(id, "\\.", "Red Blue"), csv);
+
+        // The bytes COPY ... TO STDOUT (FORMAT csv) writes for the same rows
+        assertEquals(
+            id + ",Cargo,Red\n" +
+            id + ",\"\",\n" +
+            id + ",\"Car\"\"go\",\"Red,\nBlue\"\n" +
+            id + ",\"\\.\",Red Blue\n",
+            csv.toString()
+        );
+    }
+
+    @Test
+    void testNdjsonRecords() {
+        UUID id = UUID.randomUUID();
+        StringBuilder ndjson = new StringBuilder();
+        VesselCopyFormat.NDJSON.write(new Vessel(id, "Cargo", "Red"), ndjson);
+        assertFalse(ndjson.toString().contains("@class"));
+        ndjson.append("{\"type\":\"Tanker\",\"color\":\"Blue\"}\n");
+
+        List<Vessel> vessels = read(VesselCopyFormat.NDJSON, ndjson.toString());
+
+        assertEquals(id, vessels.get(0).getId());
+        assertEquals("Cargo", vessels.get(0).getType());
+        assertNotNull(vessels.get(1).getId());
+        assertEquals("Blue", vessels.get(1).getColor());
+    }
+
+    @Test
+    void testInvalidRecordsNameTheirLine() {
+        assertInvalid(VesselCopyFormat.CSV, "id,type,color\nnot-a-uuid,Cargo,Red\n", "line 2");
+        assertInvalid(VesselCopyFormat.CSV, ",Cargo\n", "line 1");
+        assertInvalid(VesselCopyFormat.CSV, ",\"Cargo,Red\n,x,y\n", "line 1");
+        assertInvalid(VesselCopyFormat.CSV, ",Cargo," + "R".repeat(256) + "\n", "line 1");
+        assertInvalid(
+            VesselCopyFormat.NDJSON,
+            "{\"type\":\"Cargo\"}\n\n{\"colour\":\"Red\"}\n",
+            "line 3"
+        );
+    }
+
+    @Test
+    void testMediaTypes() {
+        assertEquals(VesselCopyFormat.CSV, VesselCopyFormat.of("text/csv"));
+        assertEquals(
+            VesselCopyFormat.NDJSON,
+            VesselCopyFormat.of("application/x-ndjson")
+        );
+        assertNull(VesselCopyFormat.of("application/json"));
+    }
+
+    private static List<Vessel> read(VesselCopyFormat format, String body) {
+        List<Vessel> vessels = new ArrayList<>();
+        format
+            .read(new BufferedReader(new StringReader(body)))
+            .forEachRemaining(vessels::add);
+        return vessels;
+    }
+
+    private static void assertInvalid(
+        VesselCopyFormat format,
+        String body,
+        String line
+    ) {
+        Iterator<Vessel> vessels = format.read(
+            new BufferedReader(new StringReader(body))
+        );
+        IllegalArgumentException e = assertThrows(
+            IllegalArgumentException.class,
+            () -> vessels.forEachRemaining(vessel -> {})
+        );
+        assertTrue(e.getMessage().startsWith(line + ":"), e.getMessage());
+    }
+}
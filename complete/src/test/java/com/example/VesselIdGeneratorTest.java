@@ -0,0 +1,38 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.VesselIdGenerator;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains unit tests for the time-ordered vessel id generator.
+ */
+public class VesselIdGeneratorTest {
+
+    @Test
+    void testVersionAndVariant() {
+        UUID id = VesselIdGenerator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void testIdsAreStrictlyIncreasing() {
+        UUID previous = VesselIdGenerator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = VesselIdGenerator.next();
+            // Compare the time-ordered high bits as unsigned, the way Postgres orders uuid values
+            assertTrue(
+                Long.compareUnsigned(
+                    current.getMostSignificantBits(),
+                    previous.getMostSignificantBits()
+                ) > 0
+            );
+            previous = current;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.VesselJdbcProperties;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * This class contains unit tests for binding and validating the "vessel.jdbc.*" settings.
+ */
+public class VesselJdbcPropertiesTest {
+
+    private static VesselJdbcProperties bind(Map<String, String> settings) {
+        return new Binder(new MapConfigurationPropertySource(settings))
+            .bindOrCreate("vessel.jdbc", VesselJdbcProperties.class);
+    }
+
+    @Test
+    void testDefaultsAndOverrides() {
+        VesselJdbcProperties properties = bind(
+            Map.of(
+                "vessel.jdbc.timeout.GETBYID",
+                "1500ms",
+                "vessel.jdbc.fetch-size.GETBYCOLOR",
+                "200"
+            )
+        );
+
+        // Timeouts are rounded up to whole seconds
+        assertEquals(2, properties.timeoutSeconds(RequestType.GETBYID));
+        assertEquals(5, properties.timeoutSeconds(RequestType.CREATE));
+        assertEquals(200, properties.fetchSize(RequestType.GETBYCOLOR));
+        assertEquals(0, properties.fetchSize(RequestType.GETBYID));
+        assertEquals(1000, properties.stream().fetchSize());
+        assertEquals(300, properties.stream().timeoutSeconds());
+    }
+
+    @Test
+    void testInvalidSettingsFailBinding() {
+        List<Map<String, String>> invalid = List.of(
+            Map.of("vessel.jdbc.timeout.UPDATE", "0s"),
+            Map.of("vessel.jdbc.default-timeout", "-1s"),
+            Map.of("vessel.jdbc.fetch-size.GETBYCOLOR", "-1"),
+            Map.of("vessel.jdbc.stream.fetch-size", "0"),
+            Map.of("vessel.jdbc.timeout.UNKNOWN", "1s")
+        );
+        for (Map<String, String> settings : invalid) {
+            BindException e = assertThrows(BindException.class, () ->
+                bind(settings)
+            );
+            assertInstanceOf(RuntimeException.class, e.getCause());
+        }
+    }
+}
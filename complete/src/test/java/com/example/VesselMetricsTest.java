@@ -0,0 +1,52 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.VesselMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * This class contains unit tests for the tags of the hot-path meters.
+ */
+public class VesselMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VesselMetrics metrics = new VesselMetrics(registry);
+
+    @Test
+    void testQueryOutcomes() {
+        assertEquals(1, metrics.timeQuery(RequestType.GETBYID, () -> 1));
+        assertThrows(QueryTimeoutException.class, () ->
+            metrics.timeQuery(RequestType.GETBYCOLOR, () -> {
+                throw new QueryTimeoutException("canceled");
+            })
+        );
+
+        assertEquals(1, count("GETBYID", "success"));
+        assertEquals(1, count("GETBYCOLOR", "timeout"));
+    }
+
+    @Test
+    void testColorRows() {
+        metrics.recordColorRows(3);
+        metrics.recordColorRows(5);
+
+        assertEquals(
+            8,
+            registry.get("vessel.getbycolor.rows").summary().totalAmount()
+        );
+    }
+
+    private long count(String type, String outcome) {
+        return registry
+            .get("vessel.db.query")
+            .tag("type", type)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+    }
+}
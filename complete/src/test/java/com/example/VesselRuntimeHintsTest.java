@@ -0,0 +1,67 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.RequestDTO;
+import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.Deserializers.RequestDTODeserializer;
+import com.example.springboot.VesselRuntimeHints;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+/**
+ * This class contains unit tests for the reflection hints of the native image.
+ */
+public class VesselRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    VesselRuntimeHintsTest() {
+        new VesselRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testBoundTypes() throws NoSuchMethodException {
+        for (Class<?> type : new Class<?>[] {
+            Vessel.class,
+            RequestDTO.class,
+            ResponseDTO.class,
+        }) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints));
+        }
+        assertTrue(
+            RuntimeHintsPredicates.reflection()
+                .onMethod(Vessel.class.getMethod("getColor"))
+                .test(hints)
+        );
+    }
+
+    @Test
+    void testRuntimeResolvedTypes() throws NoSuchMethodException {
+        assertTrue(
+            RuntimeHintsPredicates.reflection()
+                .onConstructor(RequestDTODeserializer.class.getConstructor())
+                .test(hints)
+        );
+        assertTrue(
+            RuntimeHintsPredicates.reflection()
+                .onConstructor(ArrayList.class.getConstructor())
+                .test(hints)
+        );
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UUID.class).test(hints));
+        assertTrue(
+            RuntimeHintsPredicates.reflection()
+                .onType(
+                    TypeReference.of(
+                        "com.example.springboot.CustomData.WireFormat$CompactRequest"
+                    )
+                )
+                .test(hints)
+        );
+    }
+}
@@ -1,16 +1,25 @@
 package com.example;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import com.example.springboot.CustomData.ImportSummary;
+import com.example.springboot.CustomData.PageToken;
 import com.example.springboot.CustomData.RequestDTO;
 import com.example.springboot.CustomData.RequestType;
 import com.example.springboot.CustomData.ResponseDTO;
+import com.example.springboot.CustomData.ResponseETag;
 import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.VesselRepository;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.Statement;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -18,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -45,6 +55,10 @@ public class VesselTest {
             .withUsername("my_user")
             .withPassword("my_password");
 
+    // The body type of every /api response, whose data is a Vessel, a list of them or a message
+    private static final ParameterizedTypeReference<ResponseDTO<?>> RESPONSE =
+        new ParameterizedTypeReference<>() {};
+
     // Port number injected by Spring Boot for the test to run on a local server
     @LocalServerPort
     private int port;
@@ -53,6 +67,10 @@ public class VesselTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    // The repository behind the API, for statements no endpoint sends on its own
+    @Autowired
+    private VesselRepository vesselRepository;
+
     // Dynamically set Spring Boot properties using the container's values
 
     @DynamicPropertySource
@@ -66,13 +84,23 @@ public class VesselTest {
             "spring.datasource.password",
             postgresContainer::getPassword
         );
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update"); // Ensure Hibernate updates schema
     }
 
-    // Create the vessel table before tests run
+    // Create the vessel table with the application's migrations before tests run
     @BeforeAll
     public static void setUp() throws Exception {
         postgresContainer.start();
+        Flyway.configure()
+            // As spring.flyway.postgresql.transactional-lock, so CREATE INDEX CONCURRENTLY can finish
+            .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+            .dataSource(
+                postgresContainer.getJdbcUrl(),
+                postgresContainer.getUsername(),
+                postgresContainer.getPassword()
+            )
+            .locations("classpath:db/table/heap")
+            .load()
+            .migrate();
 
         // Create a connection to the PostgreSQL database
         try (
@@ -82,13 +110,6 @@ public class VesselTest {
                 postgresContainer.getPassword()
             )
         ) {
-            // SQL statement to create the "vessel" table
-            String createTableSQL =
-                "CREATE TABLE IF NOT EXISTS vessel (" +
-                "id UUID PRIMARY KEY, " +
-                "type VARCHAR(255), " +
-                "color VARCHAR(255));";
-
             // SQL statements to insert default data into the "vessel" table
             String insertDataSQL =
                 "INSERT INTO vessel (id, type, color) VALUES " +
@@ -99,9 +120,6 @@ public class VesselTest {
 
             // Execute the SQL statements
             try (Statement statement = connection.createStatement()) {
-                // Create table
-                statement.execute(createTableSQL);
-
                 // Insert default data
                 statement.execute(insertDataSQL);
             } catch (Exception e) {
@@ -134,7 +152,7 @@ public class VesselTest {
 
         RequestDTO<Vessel> req = new RequestDTO<>(RequestType.CREATE, vessel);
 
-        ResponseEntity<ResponseDTO> response = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> response = getResponseEntity(
             req,
             HttpMethod.POST
         );
@@ -148,7 +166,7 @@ public class VesselTest {
         UUID id = resVessel.getId();
         RequestDTO<UUID> checkReq = new RequestDTO<>(RequestType.GETBYID, id);
 
-        ResponseEntity<ResponseDTO> checkResponse = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> checkResponse = getResponseEntity(
             checkReq,
             HttpMethod.POST
         );
@@ -167,7 +185,7 @@ public class VesselTest {
         );
 
         // Call the method to get the response
-        ResponseEntity<ResponseDTO> response = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> response = getResponseEntity(
             req,
             HttpMethod.POST
         );
@@ -178,7 +196,7 @@ public class VesselTest {
             HttpStatus.valueOf(response.getStatusCode().value())
         );
         assertEquals("VESSEL'S FOUND", response.getBody().getMessage());
-        List<Vessel> actual = (List<Vessel>) response.getBody().getData();
+        List<?> actual = (List<?>) response.getBody().getData();
 
         for (int i = 0; i < actual.size(); i++) {
             Vessel vessel = (Vessel) actual.get(i);
@@ -195,7 +213,7 @@ public class VesselTest {
         UUID id = UUID.fromString("32c145f4-4898-400e-af9c-f50f4aeab512");
         RequestDTO<UUID> req = new RequestDTO<>(RequestType.GETBYID, id);
 
-        ResponseEntity<ResponseDTO> response = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> response = getResponseEntity(
             req,
             HttpMethod.POST
         );
@@ -223,7 +241,7 @@ public class VesselTest {
         Vessel vessel = new Vessel(id, "Tanker", "Yellow");
 
         RequestDTO<Vessel> req = new RequestDTO<>(RequestType.UPDATE, vessel);
-        ResponseEntity<ResponseDTO> response = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> response = getResponseEntity(
             req,
             HttpMethod.PUT
         );
@@ -245,12 +263,29 @@ public class VesselTest {
         assertEquals(test.getId(), actual.getId());
     }
 
+    @Test
+    void testUpdateMissing() {
+        Vessel vessel = new Vessel(UUID.randomUUID(), "Tanker", "Yellow");
+
+        RequestDTO<Vessel> req = new RequestDTO<>(RequestType.UPDATE, vessel);
+        ResponseEntity<ResponseDTO<?>> response = getResponseEntity(
+            req,
+            HttpMethod.PUT
+        );
+
+        assertEquals(
+            HttpStatus.OK,
+            HttpStatus.valueOf(response.getStatusCode().value())
+        );
+        assertEquals("NO VESSEL FOUND", response.getBody().getMessage());
+    }
+
     @Test
     void testDelete() {
         UUID id = UUID.fromString("bb39cc00-eff8-4d8a-b2c7-122f31e20a50");
 
         RequestDTO<UUID> req = new RequestDTO<>(RequestType.DELETE, id);
-        ResponseEntity<ResponseDTO> response = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> response = getResponseEntity(
             req,
             HttpMethod.DELETE
         );
@@ -261,10 +296,12 @@ public class VesselTest {
             HttpStatus.valueOf(response.getStatusCode().value())
         );
         assertEquals("ACTION COMPLETED", response.getBody().getMessage());
+        // The deleted row is returned by the DELETE itself
+        assertEquals("Passenger", ((Vessel) response.getBody().getData()).getType());
 
         RequestDTO<UUID> checkReq = new RequestDTO<>(RequestType.GETBYID, id);
 
-        ResponseEntity<ResponseDTO> checkResponse = getResponseEntity(
+        ResponseEntity<ResponseDTO<?>> checkResponse = getResponseEntity(
             checkReq,
             HttpMethod.POST
         );
@@ -272,7 +309,279 @@ public class VesselTest {
         assertEquals("NO VESSEL FOUND", checkResponse.getBody().getMessage());
     }
 
-    private ResponseEntity<ResponseDTO> getResponseEntity(
+    /**
+     * Test for the batch endpoint.
+     * This test sends several operations in one POST request and checks the per-operation results.
+     */
+    @Test
+    void testBatch() {
+        List<RequestDTO<?>> reqs = List.of(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Purple")),
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Fishing", "Purple")),
+            new RequestDTO<>(RequestType.DELETE, UUID.randomUUID()),
+            new RequestDTO<>(RequestType.GETBYCOLOR, "Purple")
+        );
+
+        String url = "http://localhost:" + port + "/api/batch";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<List<ResponseDTO<?>>> response = restTemplate.exchange(
+            url,
+            HttpMethod.POST,
+            new HttpEntity<>(reqs, headers),
+            new ParameterizedTypeReference<List<ResponseDTO<?>>>() {}
+        );
+
+        assertEquals(
+            HttpStatus.OK,
+            HttpStatus.valueOf(response.getStatusCode().value())
+        );
+        List<ResponseDTO<?>> results = response.getBody();
+        assertEquals(4, results.size());
+        assertEquals("ACTION COMPLETED", results.get(0).getMessage());
+        assertEquals("ACTION COMPLETED", results.get(1).getMessage());
+        assertEquals("NO VESSEL FOUND", results.get(2).getMessage());
+        assertEquals("INCORRECT REQUEST", results.get(3).getMessage());
+        assertEquals("Purple", ((Vessel) results.get(0).getData()).getColor());
+    }
+
+    /**
+     * Test for conditional lookups.
+     * This test sends the ETag of a GETBYID response back in If-None-Match and expects a bodyless
+     * 304 until the vessel is updated, also after a write to another vessel. "*" only matches a
+     * vessel that exists.
+     */
+    @Test
+    void testConditionalGetById() {
+        Vessel vessel = (Vessel) getResponseEntity(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Silver")),
+            HttpMethod.POST
+        )
+            .getBody()
+            .getData();
+        RequestDTO<UUID> req = new RequestDTO<>(RequestType.GETBYID, vessel.getId());
+        String etag = getResponseEntity(req, HttpMethod.POST).getHeaders().getETag();
+        assertNotNull(etag);
+
+        ResponseEntity<ResponseDTO<?>> notModified = getConditional(req, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), notModified.getStatusCode().value());
+        assertNull(notModified.getBody());
+        assertEquals(etag, notModified.getHeaders().getETag());
+        assertEquals(
+            HttpStatus.NOT_MODIFIED.value(),
+            getConditional(req, "*").getStatusCode().value()
+        );
+        ResponseEntity<ResponseDTO<?>> missing = getConditional(
+            new RequestDTO<>(RequestType.GETBYID, UUID.randomUUID()),
+            "*"
+        );
+        assertEquals(HttpStatus.OK.value(), missing.getStatusCode().value());
+        assertEquals("NO VESSEL FOUND", missing.getBody().getMessage());
+
+        // Another write changes the version, but not this vessel
+        getResponseEntity(
+            new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Silver")),
+            HttpMethod.POST
+        );
+        assertEquals(
+            HttpStatus.NOT_MODIFIED.value(),
+            getConditional(req, etag).getStatusCode().value()
+        );
+
+        getResponseEntity(
+            new RequestDTO<>(
+                RequestType.UPDATE,
+                new Vessel(vessel.getId(), "Tanker", "Silver")
+            ),
+            HttpMethod.PUT
+        );
+        ResponseEntity<ResponseDTO<?>> modified = getConditional(req, etag);
+        assertEquals(HttpStatus.OK.value(), modified.getStatusCode().value());
+        assertEquals("Tanker", ((Vessel) modified.getBody().getData()).getType());
+        assertNotEquals(etag, modified.getHeaders().getETag());
+    }
+
+    /**
+     * Test for the entity tags the database computes.
+     * This test checks that they equal the tags computed from the rows the same lookups read, so a
+     * conditional lookup is answered without reading rows that have not changed.
+     */
+    @Test
+    void testResponseETagInTheDatabase() {
+        Vessel vessel = null;
+        for (String type : List.of("Cargo", "Fishing", "Kayak \u00e5")) {
+            vessel = vesselRepository.insertSql(
+                new Vessel(UUID.randomUUID(), type, "Umber"),
+                RequestType.CREATE
+            );
+        }
+        List<Map<String, Object>> lookups = List.of(
+            Map.of("color", "Umber", "after", PageToken.FIRST_PAGE, "limit", 2),
+            Map.of("color", "Umber", "after", vessel.getId(), "limit", 10),
+            Map.of("color", "Umberless", "after", PageToken.FIRST_PAGE, "limit", 10)
+        );
+        for (Map<String, Object> params : lookups) {
+            assertEquals(
+                ResponseETag.of(
+                    RequestType.GETBYCOLOR,
+                    params,
+                    vesselRepository.getVesselByQuery(params, RequestType.GETBYCOLOR)
+                ),
+                vesselRepository.getResponseETag(params, RequestType.GETBYCOLOR)
+            );
+        }
+        Map<String, Object> byId = Map.of("id", vessel.getId());
+        String etag = vesselRepository.getResponseETag(byId, RequestType.GETBYID);
+        assertEquals(
+            ResponseETag.of(
+                RequestType.GETBYID,
+                byId,
+                vesselRepository.getVesselByQuery(byId, RequestType.GETBYID)
+            ),
+            etag
+        );
+
+        vesselRepository.updateSql(
+            new Vessel(vessel.getId(), "Tanker", "Umber"),
+            RequestType.UPDATE
+        );
+        assertNotEquals(etag, vesselRepository.getResponseETag(byId, RequestType.GETBYID));
+    }
+
+    /**
+     * Test for the multi-row statements behind grouped writes.
+     * This test creates vessels in one transaction, one of them with a colliding id, and then
+     * updates and deletes them together with ids that do not exist.
+     */
+    @Test
+    void testGroupWrite() {
+        Vessel created = new Vessel("Cargo", "Gray");
+        created.setId(UUID.randomUUID());
+        Vessel colliding = new Vessel("Fishing", "Gray");
+        colliding.setId(UUID.fromString("37b2a246-cdc3-40c3-b09d-3708299d17b2"));
+
+        Vessel[] creates = vesselRepository
+            .groupWriteSql(Map.of(RequestType.CREATE, List.of(created, colliding)))
+            .get(RequestType.CREATE);
+        assertEquals(created.getId(), creates[0].getId());
+        // The colliding CREATE was retried with a fresh id
+        assertNotNull(creates[1]);
+        assertEquals(colliding.getId(), creates[1].getId());
+        assertEquals("Fishing", creates[1].getType());
+
+        Map<RequestType, Vessel[]> written = vesselRepository.groupWriteSql(
+            Map.of(
+                RequestType.UPDATE,
+                List.of(
+                    new Vessel(created.getId(), "Tanker", "Gray"),
+                    new Vessel(UUID.randomUUID(), "Tanker", "Gray")
+                ),
+                RequestType.DELETE,
+                List.of(
+                    new Vessel(colliding.getId(), "", ""),
+                    new Vessel(UUID.randomUUID(), "", "")
+                )
+            )
+        );
+        assertEquals("Tanker", written.get(RequestType.UPDATE)[0].getType());
+        assertNull(written.get(RequestType.UPDATE)[1]);
+        assertEquals("Fishing", written.get(RequestType.DELETE)[0].getType());
+        assertNull(written.get(RequestType.DELETE)[1]);
+    }
+
+    /**
+     * Test for the bulk import and export endpoints.
+     * This test copies vessels in as CSV, skipping an existing id, and exports them again.
+     */
+    @Test
+    void testImportExport() {
+        String csv =
+            "id,type,color\n" +
+            "32c145f4-4898-400e-af9c-f50f4aeab512,Cargo,Teal\n" +
+            ",Cargo,Teal\n" +
+            ",\"Fishing, small\",Teal\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        ResponseEntity<ResponseDTO<?>> imported = restTemplate.exchange(
+            "http://localhost:" + port + "/api/import",
+            HttpMethod.POST,
+            new HttpEntity<>(csv, headers),
+            RESPONSE
+        );
+
+        assertEquals("VESSELS IMPORTED", imported.getBody().getMessage());
+        ImportSummary summary = (ImportSummary) imported.getBody().getData();
+        assertEquals(3, summary.rows());
+        assertEquals(2, summary.imported());
+
+        ResponseEntity<String> exported = restTemplate.getForEntity(
+            "http://localhost:" + port + "/api/export?color=Teal",
+            String.class
+        );
+        String[] lines = exported.getBody().split("\n");
+        assertEquals("id,type,color", lines[0]);
+        assertEquals(3, lines.length);
+
+        // A record that does not fit the table rolls the whole import back
+        ResponseEntity<ResponseDTO<?>> invalid = restTemplate.exchange(
+            "http://localhost:" + port + "/api/import",
+            HttpMethod.POST,
+            new HttpEntity<>(",Cargo,Teal\nnot-a-uuid,Cargo,Teal\n", headers),
+            RESPONSE
+        );
+        assertEquals(
+            HttpStatus.BAD_REQUEST,
+            HttpStatus.valueOf(invalid.getStatusCode().value())
+        );
+        assertEquals("line 2: Invalid UUID string: not-a-uuid", invalid.getBody().getData());
+    }
+
+    /**
+     * Test for paging through the vessels of one color.
+     * This test requests pages of two vessels and follows the continuation token to the last page.
+     */
+    @Test
+    void testGetVesselsByColorPaged() {
+        for (int i = 0; i < 3; i++) {
+            getResponseEntity(
+                new RequestDTO<>(RequestType.CREATE, new Vessel("Cargo", "Orange")),
+                HttpMethod.POST
+            );
+        }
+
+        ResponseEntity<ResponseDTO<?>> first = getResponseEntity(
+            new RequestDTO<>(RequestType.GETBYCOLOR, "Orange", 2, null),
+            HttpMethod.POST
+        );
+        assertEquals("VESSEL'S FOUND", first.getBody().getMessage());
+        assertEquals(2, ((List<?>) first.getBody().getData()).size());
+        String token = first.getBody().getNextPageToken();
+        assertNotNull(token);
+
+        ResponseEntity<ResponseDTO<?>> second = getResponseEntity(
+            new RequestDTO<>(RequestType.GETBYCOLOR, "Orange", 2, token),
+            HttpMethod.POST
+        );
+        assertEquals(1, ((List<?>) second.getBody().getData()).size());
+        assertNull(second.getBody().getNextPageToken());
+    }
+
+    private ResponseEntity<ResponseDTO<?>> getConditional(
+        RequestDTO<?> req,
+        String ifNoneMatch
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setIfNoneMatch(ifNoneMatch);
+        return restTemplate.exchange(
+            "http://localhost:" + port + "/api",
+            HttpMethod.POST,
+            new HttpEntity<>(req, headers),
+            RESPONSE
+        );
+    }
+
+    private ResponseEntity<ResponseDTO<?>> getResponseEntity(
         RequestDTO<?> req,
         HttpMethod method
     ) {
@@ -287,7 +596,7 @@ public class VesselTest {
             url, // The endpoint URL
             method, // The HTTP method (POST to create a resource)
             httpEntity, // The entity to send in the request
-            ResponseDTO.class // The response type, which is expected to be a Vessel object
+            RESPONSE // The response type, a ResponseDTO holding a Vessel, a list or a message
         );
     }
 }
@@ -0,0 +1,44 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.WireFormatConfig;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * This class contains unit tests for the message converters of the wire formats.
+ */
+public class WireFormatConfigTest {
+
+    @Test
+    void testCborMapperFollowsTheApplicationSettings() {
+        // As spring.jackson.default-property-inclusion=non_null would configure the builder
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL);
+        ObjectMapper objectMapper = builder.build();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+
+        new WireFormatConfig(objectMapper, builder).extendMessageConverters(converters);
+
+        ObjectMapper cbor = converters
+            .stream()
+            .filter(converter -> converter instanceof MappingJackson2CborHttpMessageConverter)
+            .map(converter -> ((MappingJackson2CborHttpMessageConverter) converter).getObjectMapper())
+            .findFirst()
+            .orElseThrow();
+        assertTrue(cbor.getFactory() instanceof CBORFactory);
+        assertEquals(
+            JsonInclude.Include.NON_NULL,
+            cbor.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion()
+        );
+    }
+}
@@ -0,0 +1,233 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.springboot.CustomData.RequestType;
+import com.example.springboot.CustomData.Vessel;
+import com.example.springboot.VesselMetrics;
+import com.example.springboot.VesselRepository;
+import com.example.springboot.WriteBatcher;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * This class contains unit tests for the grouping of concurrent single writes.
+ */
+public class WriteBatcherTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VesselMetrics metrics = new VesselMetrics(registry);
+    private final RecordingRepository repository = new RecordingRepository(
+        metrics
+    );
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+        CALLERS
+    );
+
+    private WriteBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        if (batcher != null) batcher.close();
+    }
+
+    @Test
+    void testConcurrentWritesShareOneFlush() throws Exception {
+        // The flush starts as soon as every caller has queued its write
+        batcher = new WriteBatcher(repository, metrics, true, CALLERS, Duration.ofSeconds(5), 1);
+
+        List<Future<Vessel>> writes = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            RequestType type = i % 2 == 0 ? RequestType.CREATE : RequestType.DELETE;
+            Vessel vessel = new Vessel(UUID.randomUUID(), "Cargo", "Red");
+            writes.add(executor.submit(() -> batcher.write(vessel, type)));
+        }
+
+        for (Future<Vessel> write : writes) {
+            assertNotNull(write.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, repository.groups.size());
+        assertEquals(CALLERS / 2, repository.groups.get(0).get(RequestType.CREATE).size());
+        DistributionSummary sizes = registry.get("vessel.write.batch.size").summary();
+        assertEquals(1, sizes.count());
+        assertEquals(CALLERS, sizes.max());
+    }
+
+    @Test
+    void testSameIdIsNotWrittenTwiceInOneStatement() throws Exception {
+        batcher = new WriteBatcher(repository, metrics, true, 2, Duration.ofSeconds(5), 1);
+        UUID id = UUID.randomUUID();
+
+        Future<Vessel> update = executor.submit(() ->
+            batcher.write(new Vessel(id, "Tanker", "Red"), RequestType.UPDATE)
+        );
+        Future<Vessel> delete = executor.submit(() ->
+            batcher.write(new Vessel(id, "", ""), RequestType.DELETE)
+        );
+
+        assertNotNull(update.get(5, TimeUnit.SECONDS));
+        assertNotNull(delete.get(5, TimeUnit.SECONDS));
+        // One flush of both writes, as two transactions
+        assertEquals(1, registry.get("vessel.write.batch.size").summary().count());
+        assertEquals(2, repository.groups.size());
+    }
+
+    @Test
+    void testInvalidWriteFailsAlone() throws Exception {
+        batcher = new WriteBatcher(repository, metrics, true, 2, Duration.ofSeconds(5), 1);
+
+        Future<Vessel> valid = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), "Cargo", "Red"), RequestType.CREATE)
+        );
+        Future<Vessel> invalid = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), null, "Red"), RequestType.CREATE)
+        );
+
+        assertNotNull(valid.get(5, TimeUnit.SECONDS));
+        Exception e = assertThrows(Exception.class, () ->
+            invalid.get(5, TimeUnit.SECONDS)
+        );
+        assertTrue(e.getCause() instanceof DataIntegrityViolationException);
+    }
+
+    @Test
+    void testInvalidWriteDoesNotDelayLaterFlushes() throws Exception {
+        Duration maxWait = Duration.ofMillis(100);
+        batcher = new WriteBatcher(repository, metrics, true, 2, maxWait, 1);
+        // The row by row retry of the invalid write hangs until the gate opens
+        repository.gate = new CountDownLatch(1);
+
+        Future<Vessel> invalid = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), null, "Red"), RequestType.CREATE)
+        );
+        Future<Vessel> valid = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), "Cargo", "Red"), RequestType.CREATE)
+        );
+        assertNotNull(valid.get(5, TimeUnit.SECONDS));
+
+        // The only flusher has moved on and writes the next group within max-wait
+        long start = System.nanoTime();
+        Future<Vessel> later = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), "Tanker", "Blue"), RequestType.CREATE)
+        );
+        assertNotNull(later.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < maxWait.toNanos() + TimeUnit.SECONDS.toNanos(1));
+        assertFalse(invalid.isDone());
+
+        repository.gate.countDown();
+        Exception e = assertThrows(Exception.class, () ->
+            invalid.get(5, TimeUnit.SECONDS)
+        );
+        assertTrue(e.getCause() instanceof DataIntegrityViolationException);
+    }
+
+    @Test
+    void testFlushersWriteGroupsConcurrently() throws Exception {
+        batcher = new WriteBatcher(repository, metrics, true, 1, Duration.ZERO, 2);
+        // A group with a "Blocked" vessel hangs in its transaction until the gate opens
+        repository.gate = new CountDownLatch(1);
+
+        Future<Vessel> blocked = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), "Cargo", "Blocked"), RequestType.CREATE)
+        );
+        Future<Vessel> other = executor.submit(() ->
+            batcher.write(new Vessel(UUID.randomUUID(), "Cargo", "Red"), RequestType.CREATE)
+        );
+
+        assertNotNull(other.get(5, TimeUnit.SECONDS));
+        assertFalse(blocked.isDone());
+        repository.gate.countDown();
+        assertNotNull(blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDisabledWritesRunAlone() {
+        batcher = new WriteBatcher(repository, metrics, false, 100, Duration.ofSeconds(5), 1);
+
+        Vessel vessel = new Vessel(UUID.randomUUID(), "Cargo", "Red");
+
+        assertEquals(vessel, batcher.write(vessel, RequestType.CREATE));
+        assertEquals(0, repository.groups.size());
+    }
+
+    /**
+     * Writes every vessel whose type is not null and records the groups it was given.
+     * The single insert of a vessel without a type and a group holding a "Blocked" vessel wait
+     * for the gate first.
+     */
+    private static class RecordingRepository extends VesselRepository {
+
+        private final List<Map<RequestType, List<Vessel>>> groups =
+            new CopyOnWriteArrayList<>();
+
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        RecordingRepository(VesselMetrics metrics) {
+            super(metrics);
+        }
+
+        @Override
+        public Vessel insertSql(Vessel vessel, RequestType type) {
+            if (vessel.getType() == null) {
+                await();
+                throw new DataIntegrityViolationException("type is null");
+            }
+            return vessel;
+        }
+
+        @Override
+        public Vessel updateSql(Vessel vessel, RequestType type) {
+            return vessel;
+        }
+
+        @Override
+        public Map<RequestType, Vessel[]> groupWriteSql(
+            Map<RequestType, List<Vessel>> writes
+        ) {
+            groups.add(writes);
+            writes.values().forEach(vessels -> {
+                if (vessels.stream().anyMatch(v -> "Blocked".equals(v.getColor()))) await();
+            });
+            Map<RequestType, Vessel[]> written = new EnumMap<>(RequestType.class);
+            writes.forEach((type, vessels) -> {
+                for (Vessel vessel : vessels) {
+                    if (vessel.getType() == null) {
+                        throw new DataIntegrityViolationException("type is null");
+                    }
+                }
+                written.put(type, vessels.toArray(new Vessel[0]));
+            });
+            return written;
+        }
+
+        private void await() {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}